@@ -0,0 +1,55 @@
+package com.maojie.benchmark;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: Embedded Redis stand-in for benchmarks: a StringRedisTemplate whose value operations and pub/sub are served
+ * from a ConcurrentHashMap, so the request path can be measured without a Redis server or network.
+ * Only get, set, delete and getExpire are supported; keys never expire.
+ */
+public class InMemoryRedisTemplate extends StringRedisTemplate {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> operations = (ValueOperations<String, String>) Proxy.newProxyInstance(
+            ValueOperations.class.getClassLoader(), new Class<?>[]{ValueOperations.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "get":
+                        return values.get((String) args[0]);
+                    case "set":
+                        values.put((String) args[0], (String) args[1]);
+                        return null;
+                    case "getOperations":
+                        return this;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    @Override
+    public ValueOperations<String, String> opsForValue() {
+        return operations;
+    }
+
+    @Override
+    public Long getExpire(String key, TimeUnit timeUnit) {
+        return values.containsKey(key) ? -1L : -2L;
+    }
+
+    @Override
+    public Boolean delete(String key) {
+        return values.remove(key) != null;
+    }
+
+    @Override
+    public Long convertAndSend(String channel, Object message) {
+        return 0L;
+    }
+}
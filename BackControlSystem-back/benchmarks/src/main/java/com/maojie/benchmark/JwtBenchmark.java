@@ -0,0 +1,42 @@
+package com.maojie.benchmark;
+
+import com.maojie.utils.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: Cost of issuing a token at login and of verifying it on an authenticated request (a token cache miss).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private Map<String, Object> claims;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        claims = new HashMap<>();
+        claims.put("id", 15);
+        claims.put("username", "xumaojie123");
+        token = JwtUtil.genToken(claims);
+    }
+
+    @Benchmark
+    public String genToken() {
+        return JwtUtil.genToken(claims);
+    }
+
+    @Benchmark
+    public Map<String, Object> parseToken() {
+        return JwtUtil.parseToken(token);
+    }
+}
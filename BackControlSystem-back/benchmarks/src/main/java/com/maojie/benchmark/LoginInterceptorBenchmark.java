@@ -0,0 +1,66 @@
+package com.maojie.benchmark;
+
+import com.maojie.cache.TokenCache;
+import com.maojie.config.TokenCacheConfig;
+import com.maojie.interceptors.LoginInterceptor;
+import com.maojie.service.UserService;
+import com.maojie.utils.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: Full LoginInterceptor authentication path (preHandle + afterCompletion) against the in-memory Redis stand-in,
+ * with the local token cache enabled (hot path) and disabled (Redis lookup + JWT verification on every request).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginInterceptorBenchmark {
+
+    @Param({"true", "false"})
+    private boolean tokenCacheEnabled;
+
+    private LoginInterceptor interceptor;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        InMemoryRedisTemplate redis = new InMemoryRedisTemplate();
+        TokenCacheConfig config = new TokenCacheConfig();
+        config.setEnabled(tokenCacheEnabled);
+
+        // the user row is loaded lazily and never touched on this path
+        UserService userService = (UserService) Proxy.newProxyInstance(UserService.class.getClassLoader(),
+                new Class<?>[]{UserService.class}, (proxy, method, args) -> null);
+        interceptor = new LoginInterceptor(redis, new TokenCache(config, redis), userService);
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("id", 15);
+        claims.put("username", "xumaojie123");
+        String token = JwtUtil.genToken(claims);
+        redis.opsForValue().set(token, token);
+
+        request = new MockHttpServletRequest("GET", "/article");
+        request.addHeader("Authorization", token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public boolean preHandle() throws Exception {
+        boolean ok = interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+        return ok;
+    }
+}
@@ -0,0 +1,31 @@
+package com.maojie.benchmark;
+
+import com.maojie.utils.Md5Util;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: MD5 hashing of a short password, single-threaded and contended, to catch regressions in the per-call digest and hex encoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Md5Benchmark {
+
+    private final String password = "e10adc3949";
+
+    @Benchmark
+    public String getMD5String() {
+        return Md5Util.getMD5String(password);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String getMD5StringContended() {
+        return Md5Util.getMD5String(password);
+    }
+}
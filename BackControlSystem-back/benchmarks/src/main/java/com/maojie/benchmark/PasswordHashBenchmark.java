@@ -0,0 +1,58 @@
+package com.maojie.benchmark;
+
+import com.maojie.config.PasswordConfig;
+import com.maojie.utils.Md5Util;
+import com.maojie.utils.PasswordHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: Login cost of password verification for each PBKDF2 iteration count, next to the legacy MD5 check.
+ * Runs single-threaded, so the scores read directly as logins per second per core; use them to pick password.iterations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "s3cret-pw";
+
+    @Param({"10000", "100000", "210000", "600000"})
+    private int iterations;
+
+    private PasswordHasher hasher;
+
+    private String stored;
+
+    private String legacy;
+
+    @Setup
+    public void setup() {
+        PasswordConfig config = new PasswordConfig();
+        config.setIterations(iterations);
+        hasher = new PasswordHasher(config);
+        stored = hasher.hash(PASSWORD);
+        legacy = Md5Util.getMD5String(PASSWORD);
+    }
+
+    /**
+     * @Description: Verifies a password stored with the parameterized iteration count, the work done by a login.
+     */
+    @Benchmark
+    public boolean verifyPbkdf2() {
+        return hasher.matches(PASSWORD, stored);
+    }
+
+    /**
+     * @Description: Verifies a legacy MD5 row, the baseline before the migration (independent of the iteration parameter).
+     */
+    @Benchmark
+    public boolean verifyLegacyMd5() {
+        return hasher.matches(PASSWORD, legacy);
+    }
+}
@@ -0,0 +1,60 @@
+package com.maojie.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maojie.pojo.Article;
+import com.maojie.pojo.PageBean;
+import com.maojie.pojo.Result;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: Jackson serialization of a Result<PageBean<Article>> list response, with the ObjectMapper configured the way Spring MVC builds it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    @Param({"0", "2000"})
+    private int contentLength;
+
+    private ObjectMapper objectMapper;
+
+    private Result<PageBean<Article>> result;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Article> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Article a = new Article();
+            a.setId(i);
+            a.setTitle("title" + i);
+            a.setContent("<p>" + "x".repeat(contentLength) + "</p>");
+            a.setCoverImg("https://big-event-umn.oss-us-east-1.aliyuncs.com/c27f6bb6-e608-4891-9154-bafeb167df31.png");
+            a.setState("Published");
+            a.setCategoryId(9);
+            a.setCreateUser(15);
+            a.setCreateTime(LocalDateTime.now());
+            a.setUpdateTime(LocalDateTime.now());
+            items.add(a);
+        }
+        result = Result.success(new PageBean<>(1000L, items, null));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(result);
+    }
+}
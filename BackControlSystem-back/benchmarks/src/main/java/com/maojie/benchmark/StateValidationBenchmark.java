@@ -0,0 +1,28 @@
+package com.maojie.benchmark;
+
+import com.maojie.validation.StateValidation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: Cost of the custom @State constraint that runs on every article write.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StateValidationBenchmark {
+
+    @Param({"Published", "Draft", "Archived"})
+    private String value;
+
+    private final StateValidation validation = new StateValidation();
+
+    @Benchmark
+    public boolean isValid() {
+        return validation.isValid(value, null);
+    }
+}
@@ -14,6 +14,9 @@
  Date: 27/10/2024 19:13:09
 */
 
+-- Schema changes are managed by the Flyway migrations in src/main/resources/db/migration, which run on startup.
+-- This dump is kept for its sample data; a database created from it is baselined at V1 and receives V2+ automatically.
+
 SET NAMES utf8mb4;
 SET FOREIGN_KEY_CHECKS = 0;
 
@@ -66,12 +69,15 @@ INSERT INTO `category` VALUES (9, 'english', 'en', 15, '2024-10-25 16:27:06', '2
 
 -- ----------------------------
 -- Table structure for user
+-- password holds a PBKDF2 hash (legacy 32-char MD5 rows are rehashed on login).
+-- Upgrading an existing database:
+--   ALTER TABLE `user` MODIFY `password` varchar(128) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '密码';
 -- ----------------------------
 DROP TABLE IF EXISTS `user`;
 CREATE TABLE `user`  (
   `id` int UNSIGNED NOT NULL AUTO_INCREMENT COMMENT 'ID',
   `username` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '用户名',
-  `password` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '密码',
+  `password` varchar(128) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '密码',
   `nickname` varchar(10) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT '' COMMENT '昵称',
   `email` varchar(128) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT '' COMMENT '邮箱',
   `user_pic` varchar(128) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT '' COMMENT '头像',
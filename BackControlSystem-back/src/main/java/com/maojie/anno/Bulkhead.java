@@ -0,0 +1,27 @@
+package com.maojie.anno;
+
+import java.lang.annotation.*;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * @Description: Assigns all handlers of a controller, or a single handler method, to a concurrency bulkhead configured under
+ * "concurrency-limit.bulkheads"; an annotation on the method takes precedence over the one on its controller.
+ * Controllers in different bulkheads cannot take each other's concurrency, so slow uploads cannot starve the API.
+ * @Param: None
+ * @return: None
+ */
+@Documented
+@Target({TYPE, METHOD})
+@Retention(RUNTIME)
+public @interface Bulkhead {
+
+    /**
+     * @Description: Name of the bulkhead, e.g. "api" or "upload"
+     * @Param: None
+     * @return: Bulkhead name as a String
+     */
+    String value();
+}
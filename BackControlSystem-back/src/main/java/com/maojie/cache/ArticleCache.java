@@ -0,0 +1,91 @@
+package com.maojie.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maojie.config.ArticleCacheConfig;
+import com.maojie.pojo.Article;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @Description: Read-through local cache of article details keyed by article ID. Articles only change through the article service,
+ * which evicts them here and broadcasts the eviction so the caches of other nodes are dropped too.
+ * Cached instances are shared between requests and must not be modified.
+ */
+@Component
+public class ArticleCache {
+
+    /**
+     * Redis pub/sub channel carrying comma-separated IDs of articles that changed.
+     */
+    public static final String EVICT_CHANNEL = "article:evicted";
+
+    private final Cache<Integer, Article> cache;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final boolean enabled;
+
+    /**
+     * @Description: Builds the local cache from the configured size and time to live.
+     * @Param: config - Article cache settings; stringRedisTemplate - Redis template used to broadcast evictions
+     */
+    public ArticleCache(ArticleCacheConfig config, StringRedisTemplate stringRedisTemplate) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .recordStats()
+                .build();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = config.isEnabled();
+    }
+
+    /**
+     * @Description: Returns an article, loading it with the given loader on a miss. Missing articles are not cached.
+     * @Param: id - Article ID; loader - Loads the article from the database
+     * @return: Article - The article, or null if it does not exist
+     */
+    public Article get(Integer id, Function<Integer, Article> loader) {
+        if (!enabled || id == null) {
+            return loader.apply(id);
+        }
+        return cache.get(id, loader);
+    }
+
+    /**
+     * @Description: Evicts articles from the local cache of every node. Called after update and delete.
+     * @Param: ids - IDs of the articles that changed
+     * @return: void
+     */
+    public void evict(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        cache.invalidateAll(ids);
+        stringRedisTemplate.convertAndSend(EVICT_CHANNEL, ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * @Description: Evicts articles from the local cache only; called for evictions received from the channel.
+     * @Param: message - Comma-separated article IDs
+     * @return: void
+     */
+    public void invalidateLocal(String message) {
+        for (String id : message.split(",")) {
+            cache.invalidate(Integer.valueOf(id));
+        }
+    }
+
+    /**
+     * @Description: Exposes the local cache, e.g. for hit and miss statistics.
+     * @return: Cache - The Caffeine cache
+     */
+    public Cache<Integer, Article> getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,158 @@
+package com.maojie.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maojie.config.CategoryCacheConfig;
+import com.maojie.pojo.Category;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * @Description: Read-through cache of each user's category list. A local Caffeine cache sits in front of an optional Redis
+ * second-level cache; writes evict both and broadcast the eviction so the local caches of other nodes are dropped too.
+ */
+@Slf4j
+@Component
+public class CategoryCache {
+
+    /**
+     * Redis pub/sub channel carrying the IDs of users whose category list changed.
+     */
+    public static final String EVICT_CHANNEL = "category:evicted";
+
+    private static final String REDIS_KEY_PREFIX = "category:list:";
+
+    private static final TypeReference<List<Category>> LIST_TYPE = new TypeReference<>() {};
+
+    private final Cache<Integer, List<Category>> cache;
+
+    private final CategoryCacheConfig config;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final LongAdder redisHits = new LongAdder();
+
+    private final LongAdder redisMisses = new LongAdder();
+
+    /**
+     * @Description: Builds the local cache from the configured size and time to live.
+     * @Param: config - Category cache settings; stringRedisTemplate - Redis template for the second level and eviction messages; objectMapper - JSON mapper for Redis values
+     */
+    public CategoryCache(CategoryCacheConfig config, StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .recordStats()
+                .build();
+        this.config = config;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @Description: Returns the category list of a user, loading it through Redis and then the given loader on a miss.
+     * @Param: userId - ID of the user; loader - Loads the list from the database
+     * @return: List<Category> - Unmodifiable list of the user's categories
+     */
+    public List<Category> get(Integer userId, Function<Integer, List<Category>> loader) {
+        if (!config.isEnabled()) {
+            return loader.apply(userId);
+        }
+        return cache.get(userId, id -> {
+            List<Category> cs = readRedis(id);
+            if (cs == null) {
+                cs = List.copyOf(loader.apply(id));
+                writeRedis(id, cs);
+            }
+            return cs;
+        });
+    }
+
+    /**
+     * @Description: Evicts a user's category list from every cache level on every node. Called after add, update and delete.
+     * @Param: userId - ID of the user whose categories changed
+     * @return: void
+     */
+    public void evict(Integer userId) {
+        cache.invalidate(userId);
+        if (config.isRedisEnabled()) {
+            stringRedisTemplate.delete(REDIS_KEY_PREFIX + userId);
+        }
+        stringRedisTemplate.convertAndSend(EVICT_CHANNEL, userId.toString());
+    }
+
+    /**
+     * @Description: Evicts a user's category list from the local cache only; called for evictions received from the channel.
+     * @Param: userId - ID of the user whose categories changed
+     * @return: void
+     */
+    public void invalidateLocal(Integer userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * @Description: Exposes the local cache, e.g. for hit and miss statistics.
+     * @return: Cache - The Caffeine cache backing the first level
+     */
+    public Cache<Integer, List<Category>> getCache() {
+        return cache;
+    }
+
+    /**
+     * @Description: Number of local misses that were served by Redis.
+     * @return: long - Redis hit count
+     */
+    public long getRedisHits() {
+        return redisHits.sum();
+    }
+
+    /**
+     * @Description: Number of local misses that also missed Redis and went to the database.
+     * @return: long - Redis miss count
+     */
+    public long getRedisMisses() {
+        return redisMisses.sum();
+    }
+
+    private List<Category> readRedis(Integer userId) {
+        if (!config.isRedisEnabled()) {
+            return null;
+        }
+        try {
+            String json = stringRedisTemplate.opsForValue().get(REDIS_KEY_PREFIX + userId);
+            if (json == null) {
+                redisMisses.increment();
+                return null;
+            }
+            redisHits.increment();
+            return List.copyOf(objectMapper.readValue(json, LIST_TYPE));
+        } catch (Exception e) {
+            // the second level is only an optimization, fall back to the database
+            log.warn("Failed to read category list of user {} from Redis: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(Integer userId, List<Category> cs) {
+        if (!config.isRedisEnabled()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForValue().set(REDIS_KEY_PREFIX + userId, objectMapper.writeValueAsString(cs),
+                    Duration.ofSeconds(config.getRedisTtlSeconds()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to write category list of user {} to Redis: {}", userId, e.getMessage());
+        }
+    }
+}
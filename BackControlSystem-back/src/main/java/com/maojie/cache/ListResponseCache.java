@@ -0,0 +1,156 @@
+package com.maojie.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maojie.config.ResponseCacheConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @Description: Cache of serialized (and pre-gzipped) list responses. Keys combine the user, a per-user data version, the path and the
+ * normalized query string. Every article or category write bumps the user's version, which makes all of their cached lists unreachable
+ * at once; the bump is broadcast so other nodes stop serving their copies as well. Stale entries simply age out.
+ * Versions are held in a cache with the same bounds as the responses and drawn from one node-wide sequence, so a version that was
+ * evicted comes back as a value never used before: dropping it only costs the user's cached lists, never serves a stale one.
+ */
+@Component
+public class ListResponseCache {
+
+    /**
+     * Redis pub/sub channel carrying the IDs of users whose data version was bumped.
+     */
+    public static final String VERSION_CHANNEL = "list:version";
+
+    /**
+     * Request attribute holding the cache key of a miss, for the filter to store the response under.
+     */
+    public static final String KEY_ATTRIBUTE = ListResponseCache.class.getName() + ".KEY";
+
+    private final Cache<String, CachedResponse> cache;
+
+    private final Cache<Integer, Long> versions;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final int compressionMinSize;
+
+    /**
+     * @Description: Builds the cache from the configured size and time to live.
+     * @Param: config - Response cache settings; stringRedisTemplate - Redis template used to broadcast version bumps
+     */
+    public ListResponseCache(ResponseCacheConfig config, StringRedisTemplate stringRedisTemplate) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .recordStats()
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterAccess(Duration.ofSeconds(config.getTtlSeconds()))
+                .build();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.compressionMinSize = config.getCompressionMinSize();
+    }
+
+    /**
+     * @Description: Builds the cache key of a request. The version is read here, before the handler runs, so a write that
+     * happens while the response is being produced makes the stored entry unreachable instead of serving stale data.
+     * @Param: userId - ID of the logged-in user; request - The list request
+     * @return: String - Cache key
+     */
+    public String key(Integer userId, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder()
+                .append(userId).append('|')
+                .append(versions.get(userId, id -> versionSequence.incrementAndGet())).append('|')
+                .append(request.getServletPath()).append('?');
+        Map<String, String[]> params = new TreeMap<>(request.getParameterMap());
+        params.forEach((name, values) -> {
+            for (String value : values) {
+                key.append(name).append('=').append(value).append('&');
+            }
+        });
+        return key.toString();
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * @Description: Stores a serialized response, gzipping it once up front if it is large enough to be worth compressing.
+     * @Param: key - Cache key from key(); body - Serialized response; contentType - Response content type
+     * @return: void
+     */
+    public void put(String key, byte[] body, String contentType) {
+        cache.put(key, new CachedResponse(body, body.length >= compressionMinSize ? gzip(body) : null, contentType));
+    }
+
+    /**
+     * @Description: Invalidates all cached lists of a user on every node. Called after any article or category write.
+     * @Param: userId - ID of the user whose data changed
+     * @return: void
+     */
+    public void bump(Integer userId) {
+        bumpLocal(userId);
+        stringRedisTemplate.convertAndSend(VERSION_CHANNEL, userId.toString());
+    }
+
+    /**
+     * @Description: Invalidates all cached lists of a user on this node only; called for bumps received from the channel.
+     * @Param: userId - ID of the user whose data changed
+     * @return: void
+     */
+    public void bumpLocal(Integer userId) {
+        versions.put(userId, versionSequence.incrementAndGet());
+    }
+
+    /**
+     * @Description: Exposes the cache, e.g. for hit and miss statistics.
+     * @return: Cache - The Caffeine cache
+     */
+    public Cache<String, CachedResponse> getCache() {
+        return cache;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @Description: A serialized response body, its gzip form (null when below the compression threshold) and content type.
+     */
+    @Getter
+    public static final class CachedResponse {
+
+        private final byte[] body;
+
+        private final byte[] gzipBody;
+
+        private final String contentType;
+
+        private CachedResponse(byte[] body, byte[] gzipBody, String contentType) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+            this.contentType = contentType;
+        }
+    }
+}
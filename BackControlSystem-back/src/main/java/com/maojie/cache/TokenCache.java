@@ -0,0 +1,125 @@
+package com.maojie.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.maojie.config.TokenCacheConfig;
+import com.maojie.pojo.CurrentUser;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * @Description: Bounded, time-limited cache of tokens that already passed the Redis check and JWT verification, mapped to the identity built from their claims.
+ * An entry lives for the configured time to live, but never past the token's own expiry (its Redis entry or the JWT "exp", whichever comes first),
+ * so a cache hit cannot extend an expired login. Revocations are broadcast on a Redis channel so every node drops the token from its local cache.
+ */
+@Component
+public class TokenCache {
+
+    /**
+     * Redis pub/sub channel carrying revoked tokens.
+     */
+    public static final String REVOKED_CHANNEL = "token:revoked";
+
+    private final Cache<String, CurrentUser> cache;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final boolean enabled;
+
+    private final Duration ttl;
+
+    /**
+     * @Description: Builds the cache from the configured size and time to live.
+     * @Param: config - Token cache settings; stringRedisTemplate - Redis template used to publish revocations
+     */
+    public TokenCache(TokenCacheConfig config, StringRedisTemplate stringRedisTemplate) {
+        this.ttl = Duration.ofSeconds(config.getTtlSeconds());
+        long ttlNanos = ttl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfter(new Expiry<String, CurrentUser>() {
+                    // entries are added through put(token, user, expiresAt), which sets their lifetime explicitly
+                    @Override
+                    public long expireAfterCreate(String key, CurrentUser value, long currentTime) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CurrentUser value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CurrentUser value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = config.isEnabled();
+    }
+
+    /**
+     * @Description: Returns the identity of a previously verified token.
+     * @Param: token - Raw token from the Authorization header
+     * @return: CurrentUser - Cached identity, or null if the token has to be verified again
+     */
+    public CurrentUser get(String token) {
+        return enabled ? cache.getIfPresent(token) : null;
+    }
+
+    /**
+     * @Description: Remembers the identity of a token that passed verification until the time to live elapses or the token expires, whichever
+     * comes first. Tokens that are already expired are not cached.
+     * @Param: token - Raw token; user - Identity built from the token claims; expiresAt - When the token stops being valid, or null if it does not expire
+     * @return: void
+     */
+    public void put(String token, CurrentUser user, Instant expiresAt) {
+        if (!enabled) {
+            return;
+        }
+        Duration lifetime = ttl;
+        if (expiresAt != null) {
+            Duration remaining = Duration.between(Instant.now(), expiresAt);
+            if (remaining.compareTo(lifetime) < 0) {
+                lifetime = remaining;
+            }
+        }
+        if (lifetime.isNegative() || lifetime.isZero()) {
+            return;
+        }
+        cache.policy().expireVariably().orElseThrow().put(token, user, lifetime);
+    }
+
+    /**
+     * @Description: Revokes a token on every node: drops it locally and publishes it on the revocation channel.
+     * @Param: token - Token to revoke
+     * @return: void
+     */
+    public void revoke(String token) {
+        cache.invalidate(token);
+        stringRedisTemplate.convertAndSend(REVOKED_CHANNEL, token);
+    }
+
+    /**
+     * @Description: Drops a token from the local cache only; called for revocations received from the channel.
+     * @Param: token - Token to drop
+     * @return: void
+     */
+    public void invalidateLocal(String token) {
+        cache.invalidate(token);
+    }
+
+    /**
+     * @Description: Exposes the underlying cache, e.g. for hit and miss statistics.
+     * @return: Cache - The Caffeine cache backing this token cache
+     */
+    public Cache<String, CurrentUser> getCache() {
+        return cache;
+    }
+}
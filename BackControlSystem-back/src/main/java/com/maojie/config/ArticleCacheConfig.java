@@ -0,0 +1,39 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for the article detail cache. This class maps to properties prefixed with "article-cache" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "article-cache")
+public class ArticleCacheConfig {
+
+    /**
+     * @Description: Whether article details are cached; when disabled every detail view reads from MySQL
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean enabled = true;
+
+    /**
+     * @Description: Maximum number of articles kept in the local cache; entries include the full content, so size this by average article length
+     * @Param: None
+     * @return: long containing the maximum entry count
+     */
+    private long maximumSize = 5_000;
+
+    /**
+     * @Description: Seconds an article stays cached; bounds staleness if an eviction message from another node is lost
+     * @Param: None
+     * @return: long containing the time to live in seconds
+     */
+    private long ttlSeconds = 600;
+}
@@ -0,0 +1,53 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for the per-user category list cache. This class maps to properties prefixed with "category-cache" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "category-cache")
+public class CategoryCacheConfig {
+
+    /**
+     * @Description: Whether category lists are cached; when disabled every call reads from MySQL
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean enabled = true;
+
+    /**
+     * @Description: Maximum number of users whose category list is kept in the local cache
+     * @Param: None
+     * @return: long containing the maximum entry count
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * @Description: Seconds a category list stays in the local cache
+     * @Param: None
+     * @return: long containing the time to live in seconds
+     */
+    private long ttlSeconds = 300;
+
+    /**
+     * @Description: Whether Redis is used as a shared second-level cache behind the local one
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean redisEnabled = false;
+
+    /**
+     * @Description: Seconds a category list stays in the Redis second-level cache
+     * @Param: None
+     * @return: long containing the time to live in seconds
+     */
+    private long redisTtlSeconds = 1800;
+}
@@ -0,0 +1,65 @@
+package com.maojie.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @Description: Configuration class for concurrency limiting (load shedding). This class maps to properties prefixed with "concurrency-limit" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitConfig {
+
+    /**
+     * @Description: Whether requests over a bulkhead's concurrency limit are rejected with 503
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean enabled = true;
+
+    /**
+     * @Description: Bulkheads by name, referenced by @Bulkhead on controllers. "api" adapts its limit to handler latency; "upload" and "transfer"
+     * (bulk article import/export) have fixed limits because their duration depends on the client's bandwidth and the data size, not on server load
+     * @Param: None
+     * @return: Map<String, Bulkhead> containing the bulkhead settings
+     */
+    private Map<String, Bulkhead> bulkheads = new LinkedHashMap<>(Map.of(
+            "api", new Bulkhead(true, 20, 4, 200, 0.2, 2.0, 600),
+            "upload", new Bulkhead(false, 16, 16, 16, 0, 0, 0),
+            "transfer", new Bulkhead(false, 4, 4, 4, 0, 0, 0)));
+
+    /**
+     * @Description: Settings of one bulkhead.
+     */
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bulkhead {
+
+        private boolean adaptive = true; // Whether the limit follows handler latency (gradient algorithm) or stays at initialLimit
+
+        private int initialLimit = 20; // Concurrency limit at startup
+
+        private int minLimit = 4; // The adaptive limit never drops below this
+
+        private int maxLimit = 200; // The adaptive limit never grows above this
+
+        private double smoothing = 0.2; // Weight of each new limit estimate, between 0 and 1
+
+        private double rttTolerance = 2.0; // Latency may grow to this multiple of the long-term average before the limit shrinks
+
+        private int longWindow = 600; // Number of samples the long-term average latency spans
+    }
+}
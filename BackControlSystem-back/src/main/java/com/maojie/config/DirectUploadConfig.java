@@ -0,0 +1,47 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for direct-to-storage uploads. This class maps to properties prefixed with "direct-upload" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "direct-upload")
+public class DirectUploadConfig {
+
+    /**
+     * @Description: Whether clients may request signed upload URLs
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean enabled = true;
+
+    /**
+     * @Description: Seconds a signed upload URL stays valid
+     * @Param: None
+     * @return: long containing the lifetime in seconds
+     */
+    private long ttlSeconds = 300;
+
+    /**
+     * @Description: Largest file in bytes that may be uploaded, directly or through the server: MultipartConfig applies it as the servlet
+     * multipart file limit. Larger direct uploads are deleted on completion
+     * @Param: None
+     * @return: long containing the size limit in bytes
+     */
+    private long maxSize = 20L * 1024 * 1024;
+
+    /**
+     * @Description: Secret for signing local-storage upload URLs; when empty a random key is generated at startup, which only works on a single node
+     * @Param: None
+     * @return: String containing the signing key
+     */
+    private String signingKey = "";
+}
@@ -0,0 +1,32 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for logging of unexpected exceptions. This class maps to properties prefixed with "error-log" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "error-log")
+public class ErrorLogConfig {
+
+    /**
+     * @Description: Full stack traces logged per exception type per window; further occurrences are logged as one line and counted
+     * @Param: None
+     * @return: int containing the number of stack traces per window
+     */
+    private int tracesPerWindow = 5;
+
+    /**
+     * @Description: Length of the rate-limiting window in seconds
+     * @Param: None
+     * @return: long containing the window length in seconds
+     */
+    private long windowSeconds = 60;
+}
@@ -0,0 +1,90 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for the in-process domain event bus and its outbox. This class maps to properties prefixed with "event-bus" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "event-bus")
+public class EventBusConfig {
+
+    /**
+     * @Description: What publishing does when the queue is full
+     */
+    public enum OverflowPolicy {
+        DROP, // Skip the queue; the outbox row stays pending and the sweeper delivers it later
+        CALLER_RUNS, // Run the handlers on the publishing thread
+        BLOCK // Wait up to offerTimeoutMs for room, then drop
+    }
+
+    /**
+     * @Description: Number of queue slots; must be a power of two
+     * @Param: None
+     * @return: int containing the queue capacity
+     */
+    private int capacity = 8192;
+
+    /**
+     * @Description: Number of consumer threads draining the queue
+     * @Param: None
+     * @return: int containing the consumer count
+     */
+    private int consumers = 1;
+
+    /**
+     * @Description: Maximum number of events handed to the handlers at once
+     * @Param: None
+     * @return: int containing the batch size
+     */
+    private int maxBatchSize = 256;
+
+    /**
+     * @Description: Behaviour when the queue is full
+     * @Param: None
+     * @return: OverflowPolicy
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * @Description: Milliseconds the BLOCK policy waits for room before dropping
+     * @Param: None
+     * @return: long containing the timeout in milliseconds
+     */
+    private long offerTimeoutMs = 10;
+
+    /**
+     * @Description: Seconds between sweeps that redeliver pending outbox rows and purge old processed ones
+     * @Param: None
+     * @return: long containing the interval in seconds
+     */
+    private long sweepIntervalSeconds = 30;
+
+    /**
+     * @Description: Seconds an outbox row must have been pending before a sweep redelivers it
+     * @Param: None
+     * @return: long containing the delay in seconds
+     */
+    private long sweepDelaySeconds = 60;
+
+    /**
+     * @Description: Failed deliveries after which an event is no longer retried and stays pending for inspection
+     * @Param: None
+     * @return: int containing the maximum attempts
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * @Description: Days processed outbox rows are kept as an audit trail before being purged
+     * @Param: None
+     * @return: int containing the retention in days
+     */
+    private int retentionDays = 30;
+}
@@ -0,0 +1,25 @@
+package com.maojie.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @Description: Flyway configuration. The schema lives in src/main/resources/db/migration; databases created earlier from big_event.sql
+ * have no migration history, so they are baselined at V1 (the initial schema) and only receive the later migrations.
+ * @Param: None
+ * @return: None
+ */
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * @Description: Enables baseline-on-migrate at version 1 so existing databases are adopted instead of rejected as non-empty
+     * @Param: None
+     * @return: FlywayConfigurationCustomizer - Customizer applied before migrations run
+     */
+    @Bean
+    public FlywayConfigurationCustomizer baselineOnMigrate() {
+        return configuration -> configuration.baselineOnMigrate(true).baselineVersion("1");
+    }
+}
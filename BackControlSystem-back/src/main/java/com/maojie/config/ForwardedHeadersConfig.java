@@ -0,0 +1,46 @@
+package com.maojie.config;
+
+import org.apache.catalina.valves.RemoteIpValve;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.tomcat.ConfigurableTomcatWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * @Description: Takes the client address from X-Forwarded-For when the request comes through a proxy, which is how the application is
+ * deployed (behind the front-end proxy or a load balancer). Without it every anonymous client shares the proxy's rate-limit bucket.
+ * This is what server.forward-headers-strategy=native does, applied here unless the strategy is set explicitly (NONE turns it off).
+ * Tomcat's RemoteIpValve only trusts proxies on private and loopback addresses by default (server.tomcat.remoteip.internal-proxies);
+ * widen that if the proxy is elsewhere, and never expose the application directly with a wider setting, or clients can pick their own address.
+ */
+@Configuration
+public class ForwardedHeadersConfig {
+
+    /**
+     * @Description: Adds Tomcat's RemoteIpValve, configured from server.tomcat.remoteip, when no forward headers strategy is configured
+     * @Param: serverProperties - server.* settings
+     * @return: WebServerFactoryCustomizer - Customizer adding the valve
+     */
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableTomcatWebServerFactory> remoteIpValveCustomizer(ServerProperties serverProperties) {
+        return factory -> {
+            if (serverProperties.getForwardHeadersStrategy() != null) {
+                return; // Spring Boot adds the valve for NATIVE itself
+            }
+            ServerProperties.Tomcat.Remoteip remoteIp = serverProperties.getTomcat().getRemoteip();
+            RemoteIpValve valve = new RemoteIpValve();
+            valve.setRemoteIpHeader(remoteIp.getRemoteIpHeader());
+            valve.setProtocolHeader(remoteIp.getProtocolHeader());
+            valve.setProtocolHeaderHttpsValue(remoteIp.getProtocolHeaderHttpsValue());
+            valve.setHostHeader(remoteIp.getHostHeader());
+            valve.setPortHeader(remoteIp.getPortHeader());
+            valve.setInternalProxies(remoteIp.getInternalProxies());
+            if (StringUtils.hasLength(remoteIp.getTrustedProxies())) {
+                valve.setTrustedProxies(remoteIp.getTrustedProxies());
+            }
+            factory.addEngineValves(valve);
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for the cover image derivative pipeline. This class maps to properties prefixed with "image-derivative" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "image-derivative")
+public class ImageDerivativeConfig {
+
+    /**
+     * @Description: Whether resized variants are generated for uploaded images
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean enabled = true;
+
+    /**
+     * @Description: Number of worker threads decoding and resizing images; resizing is CPU bound, so keep this below the core count
+     * @Param: None
+     * @return: int containing the thread count
+     */
+    private int threads = 2;
+
+    /**
+     * @Description: Maximum number of uploads waiting for a worker; further uploads are stored without variants
+     * @Param: None
+     * @return: int containing the queue capacity
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * @Description: JPEG quality of the variants, between 0 and 1
+     * @Param: None
+     * @return: float containing the quality
+     */
+    private float quality = 0.8f;
+
+    /**
+     * @Description: Images with more pixels than this are not decoded, which bounds worker memory (4 bytes per pixel) against decompression bombs
+     * @Param: None
+     * @return: long containing the pixel limit
+     */
+    private long maxPixels = 40_000_000;
+}
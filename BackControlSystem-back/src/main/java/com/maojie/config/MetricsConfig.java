@@ -0,0 +1,70 @@
+package com.maojie.config;
+
+import com.maojie.cache.ArticleCache;
+import com.maojie.cache.CategoryCache;
+import com.maojie.cache.ListResponseCache;
+import com.maojie.cache.TokenCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @Description: Registers application meters that Spring Boot does not bind on its own.
+ * Hikari pool gauges (hikaricp.connections.active/idle/pending) and Lettuce command latency (lettuce.command.*) are auto-configured;
+ * this class adds the local caches and turns on percentile histograms for the latency timers so tail latency is visible in Prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String[] HISTOGRAM_METERS = {"hikaricp.connections.acquire", "hikaricp.connections.usage", "lettuce.command"};
+
+    /**
+     * @Description: Binds hit/miss/eviction statistics of the token, category, article and list response caches, plus the category cache's Redis L2 hits and misses
+     * @Param: tokenCache - Token cache
+     * @Param: categoryCache - Category cache
+     * @Param: articleCache - Article detail cache
+     * @Param: listResponseCache - Pre-serialized list response cache
+     * @return: MeterBinder - Binder applied to every meter registry
+     */
+    @Bean
+    public MeterBinder cacheMetrics(TokenCache tokenCache, CategoryCache categoryCache, ArticleCache articleCache,
+                                    ListResponseCache listResponseCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, tokenCache.getCache(), "token");
+            CaffeineCacheMetrics.monitor(registry, categoryCache.getCache(), "category");
+            CaffeineCacheMetrics.monitor(registry, articleCache.getCache(), "article");
+            CaffeineCacheMetrics.monitor(registry, listResponseCache.getCache(), "list-response");
+            FunctionCounter.builder("cache.redis.gets", categoryCache, CategoryCache::getRedisHits)
+                    .tag("cache", "category").tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.redis.gets", categoryCache, CategoryCache::getRedisMisses)
+                    .tag("cache", "category").tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * @Description: Publishes percentile histograms for connection acquire/usage time and Redis command latency
+     * @Param: None
+     * @return: MeterFilter - Filter adjusting the distribution config of the matching timers
+     */
+    @Bean
+    public MeterFilter latencyHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                for (String prefix : HISTOGRAM_METERS) {
+                    if (id.getName().startsWith(prefix)) {
+                        return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+                    }
+                }
+                return config;
+            }
+        };
+    }
+}
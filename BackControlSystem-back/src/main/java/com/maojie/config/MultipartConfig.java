@@ -0,0 +1,32 @@
+package com.maojie.config;
+
+import jakarta.servlet.MultipartConfigElement;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @Description: Servlet multipart limits for uploads through the server. Spring Boot's 1MB default would reject files long before
+ * storage.multipart-threshold, so the file limit follows direct-upload.max-size instead: both upload paths accept the same files, and
+ * files above the threshold reach the parallel OSS multipart upload. The spool location and in-memory threshold still come from
+ * spring.servlet.multipart.
+ */
+@Configuration
+public class MultipartConfig {
+
+    private static final long REQUEST_OVERHEAD = 1024 * 1024; // form fields and multipart framing around the file
+
+    /**
+     * @Description: Replaces Spring Boot's multipart configuration with limits derived from the direct upload size limit
+     * @Param: properties - spring.servlet.multipart settings; directUploadConfig - Direct upload settings with the size limit
+     * @return: MultipartConfigElement - Limits applied to the DispatcherServlet
+     */
+    @Bean
+    public MultipartConfigElement multipartConfigElement(MultipartProperties properties, DirectUploadConfig directUploadConfig) {
+        long maxFileSize = directUploadConfig.getMaxSize();
+        DataSize threshold = properties.getFileSizeThreshold();
+        return new MultipartConfigElement(properties.getLocation() == null ? "" : properties.getLocation(), maxFileSize,
+                maxFileSize + REQUEST_OVERHEAD, threshold == null ? 0 : (int) threshold.toBytes());
+    }
+}
@@ -0,0 +1,27 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for password hashing. This class maps to properties prefixed with "password" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "password")
+public class PasswordConfig {
+
+    /**
+     * @Description: PBKDF2-HMAC-SHA256 iteration count. Higher is slower for attackers and for logins alike; use the
+     * PasswordHashBenchmark in the benchmarks module to see login throughput per core for a given value.
+     * Stored hashes with a different count are rehashed on the next successful login.
+     * @Param: None
+     * @return: int containing the iteration count
+     */
+    private int iterations = 210_000;
+}
@@ -0,0 +1,76 @@
+package com.maojie.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description: Configuration class for request rate limiting. This class maps to properties prefixed with "rate-limit" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitConfig {
+
+    /**
+     * @Description: Whether requests are rate limited
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean enabled = true;
+
+    /**
+     * @Description: Maximum number of (route, user) buckets kept in memory; idle buckets are dropped first, and a dropped bucket starts out full again
+     * @Param: None
+     * @return: long containing the maximum bucket count
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * @Description: Limits per route, checked in order; the first route whose pattern and method match the request applies. Setting this property
+     * replaces the whole default list, so keep a catch-all "/**" entry at the end
+     * @Param: None
+     * @return: List<Route> containing the route limits
+     */
+    private List<Route> routes = new ArrayList<>(List.of(
+            new Route("/user/login", "POST", 1, 5, true, "username"),
+            new Route("/user/register", "POST", 0.2, 3, true, null),
+            new Route("/upload/**", null, 2, 10, false, null),
+            new Route("/upload", null, 2, 10, false, null),
+            new Route("/article/import", null, 0.1, 2, false, null),
+            new Route("/article/export", null, 0.1, 2, false, null),
+            new Route("/**", null, 20, 50, false, null)));
+
+    /**
+     * @Description: Limit of one route. Requests are keyed by user ID, or by client address on routes used before login. The client address is
+     * only the real one when server.forward-headers-strategy is set and the app is reached through a trusted proxy; otherwise all clients behind
+     * the proxy share one address.
+     */
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+
+        private String pattern; // Ant-style path pattern, e.g. "/article/**"
+
+        private String method; // HTTP method, or null for any method
+
+        private double permitsPerSecond; // Sustained rate per user; 0 or less disables limiting for the route
+
+        private int burst = 1; // Requests allowed back to back before the sustained rate applies
+
+        private boolean cluster; // Whether the limit is shared by all nodes through Redis instead of enforced per node
+
+        private String keyParameter; // Request parameter added to the client address for requests without a logged-in user, e.g. "username" on login; null for none
+    }
+}
@@ -0,0 +1,53 @@
+package com.maojie.config;
+
+import com.maojie.cache.ArticleCache;
+import com.maojie.cache.CategoryCache;
+import com.maojie.cache.ListResponseCache;
+import com.maojie.cache.TokenCache;
+import com.maojie.search.ArticleSearchEventHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @Description: Redis configuration class. Subscribes to the channels used to keep the local in-process caches and the search index of every node consistent.
+ * @Param: None
+ * @return: None
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * @Description: Creates the listener container that receives cache invalidation messages
+     * @Param: connectionFactory - Redis connection factory; tokenCache - Local token cache to invalidate; categoryCache - Local category cache to invalidate; articleCache - Local article cache to invalidate; listResponseCache - Local list response cache to invalidate; articleSearchEventHandler - Refreshes the local search index
+     * @return: RedisMessageListenerContainer - Container with the invalidation listeners registered
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory, TokenCache tokenCache,
+                                                                        CategoryCache categoryCache, ArticleCache articleCache,
+                                                                        ListResponseCache listResponseCache,
+                                                                        ArticleSearchEventHandler articleSearchEventHandler) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) ->
+                        tokenCache.invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(TokenCache.REVOKED_CHANNEL));
+        container.addMessageListener((message, pattern) ->
+                        categoryCache.invalidateLocal(Integer.valueOf(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(CategoryCache.EVICT_CHANNEL));
+        container.addMessageListener((message, pattern) ->
+                        articleCache.invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(ArticleCache.EVICT_CHANNEL));
+        container.addMessageListener((message, pattern) ->
+                        listResponseCache.bumpLocal(Integer.valueOf(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(ListResponseCache.VERSION_CHANNEL));
+        container.addMessageListener((message, pattern) ->
+                        articleSearchEventHandler.refreshLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(ArticleSearchEventHandler.CHANGED_CHANNEL));
+        return container;
+    }
+}
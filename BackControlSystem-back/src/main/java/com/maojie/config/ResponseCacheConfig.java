@@ -0,0 +1,53 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for response compression and the pre-serialized list response cache. This class maps to properties prefixed with "response-cache" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheConfig {
+
+    /**
+     * @Description: Whether serialized list responses are cached per user and query
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean enabled = true;
+
+    /**
+     * @Description: Maximum number of cached list responses
+     * @Param: None
+     * @return: long containing the maximum entry count
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * @Description: Seconds a cached response is kept; entries are normally made unreachable earlier by a data version bump
+     * @Param: None
+     * @return: long containing the time to live in seconds
+     */
+    private long ttlSeconds = 60;
+
+    /**
+     * @Description: Whether Tomcat gzips responses on the fly
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean compressionEnabled = true;
+
+    /**
+     * @Description: Responses smaller than this many bytes are sent uncompressed, both by Tomcat and from the cache; below about 1 KB gzip saves little and costs CPU
+     * @Param: None
+     * @return: int containing the threshold in bytes
+     */
+    private int compressionMinSize = 1024;
+}
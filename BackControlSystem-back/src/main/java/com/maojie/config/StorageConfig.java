@@ -0,0 +1,75 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for uploaded file storage. This class maps to properties prefixed with "storage" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "storage")
+public class StorageConfig {
+
+    /**
+     * @Description: Storage backend, either "oss" (AliCloud OSS, the default) or "local" (local filesystem)
+     * @Param: None
+     * @return: String containing the backend type
+     */
+    private String type = "oss";
+
+    /**
+     * @Description: Files at least this large (in bytes) are sent to OSS as a parallel multipart upload. Uploads through the server are capped at
+     * direct-upload.max-size (MultipartConfig), so this threshold must stay below that limit for the multipart path to be used
+     * @Param: None
+     * @return: long containing the threshold in bytes
+     */
+    private long multipartThreshold = 8L * 1024 * 1024;
+
+    /**
+     * @Description: Size of each multipart upload part in bytes; OSS requires at least 100 KB
+     * @Param: None
+     * @return: long containing the part size in bytes
+     */
+    private long partSize = 2L * 1024 * 1024;
+
+    /**
+     * @Description: Number of threads uploading parts in parallel
+     * @Param: None
+     * @return: int containing the thread count
+     */
+    private int uploadThreads = 4;
+
+    /**
+     * @Description: Maximum number of parts of a single upload held in memory at once; bounds memory to partSize * maxPartsInFlight per upload
+     * @Param: None
+     * @return: int containing the part count
+     */
+    private int maxPartsInFlight = 4;
+
+    /**
+     * @Description: Maximum number of HTTP connections kept by the shared OSS client
+     * @Param: None
+     * @return: int containing the connection count
+     */
+    private int maxConnections = 64;
+
+    /**
+     * @Description: Directory that holds uploaded files when the local backend is used
+     * @Param: None
+     * @return: String containing the directory path
+     */
+    private String localDir = "uploads";
+
+    /**
+     * @Description: Base URL under which locally stored files are served
+     * @Param: None
+     * @return: String containing the base URL
+     */
+    private String localBaseUrl = "http://localhost:8080/files";
+}
@@ -0,0 +1,39 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for the in-process verified token cache. This class maps to properties prefixed with "token-cache" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "token-cache")
+public class TokenCacheConfig {
+
+    /**
+     * @Description: Whether verified tokens are cached locally; when disabled every request goes to Redis and verifies the JWT
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean enabled = true;
+
+    /**
+     * @Description: Maximum number of verified tokens kept in memory
+     * @Param: None
+     * @return: long containing the maximum entry count
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * @Description: Seconds a verified token stays cached; bounds how long a token revoked on another node may still be accepted if a revocation message is lost
+     * @Param: None
+     * @return: long containing the time to live in seconds
+     */
+    private long ttlSeconds = 60;
+}
@@ -0,0 +1,32 @@
+package com.maojie.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * @Description: Configuration class for per-handler latency histograms and slow-request logging. This class maps to properties prefixed with "trace" in application configuration.
+ * @Param: None
+ * @return: None
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "trace")
+public class TraceConfig {
+
+    /**
+     * @Description: Whether handler requests are timed and broken down into auth, service and SQL time
+     * @Param: None
+     * @return: boolean flag
+     */
+    private boolean enabled = true;
+
+    /**
+     * @Description: Requests taking longer than this many milliseconds are logged with their full breakdown
+     * @Param: None
+     * @return: long containing the threshold in milliseconds
+     */
+    private long slowThresholdMs = 500;
+}
@@ -0,0 +1,62 @@
+package com.maojie.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @Description: Runs Tomcat request handling and Spring async tasks on virtual threads when "virtual-threads.enabled" is true.
+ * Requests mostly block on MySQL and Redis, so a virtual thread per request lets thousands of slow clients wait without growing a platform thread pool.
+ * Requires a Java 21+ runtime; the application itself is still compiled for Java 17, so the executor is looked up reflectively.
+ * @Param: None
+ * @return: None
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * @Description: Creates the executor that starts a new virtual thread for every task
+     * @Param: None
+     * @return: ExecutorService - Virtual-thread-per-task executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual-threads.enabled=true requires a Java 21+ runtime, running on "
+                    + System.getProperty("java.version"), e);
+        }
+    }
+
+    /**
+     * @Description: Makes Tomcat dispatch every request on a virtual thread instead of its worker pool
+     * @Param: virtualThreadExecutor - Virtual-thread-per-task executor
+     * @return: TomcatProtocolHandlerCustomizer - Customizer replacing the connector executor
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        log.info("Tomcat requests will run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    /**
+     * @Description: Replaces the default pooled task executor, used for Spring MVC async requests and @Async methods, with virtual threads
+     * @Param: virtualThreadExecutor - Virtual-thread-per-task executor
+     * @return: AsyncTaskExecutor - Adapter running tasks on virtual threads
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+}
@@ -1,8 +1,19 @@
 package com.maojie.config;
 
+import com.maojie.interceptors.ConcurrencyLimitInterceptor;
+import com.maojie.interceptors.ListResponseCacheFilter;
+import com.maojie.interceptors.ListResponseCacheInterceptor;
 import com.maojie.interceptors.LoginInterceptor;
+import com.maojie.interceptors.RateLimitInterceptor;
+import com.maojie.interceptors.TraceInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -24,6 +35,41 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private LoginInterceptor loginInterceptor;
 
+    /**
+     * @Description: Injects the TraceInterceptor that times every handler; registered first so it also covers the LoginInterceptor
+     * @Param: None
+     * @return: Instance of TraceInterceptor
+     */
+    @Autowired
+    private TraceInterceptor traceInterceptor;
+
+    /**
+     * @Description: Injects the ListResponseCacheInterceptor that serves list requests from the pre-serialized response cache
+     * @Param: None
+     * @return: Instance of ListResponseCacheInterceptor
+     */
+    @Autowired
+    private ListResponseCacheInterceptor listResponseCacheInterceptor;
+
+    /**
+     * @Description: Injects the RateLimitInterceptor; registered after the LoginInterceptor so limits are keyed by the authenticated user
+     * @Param: None
+     * @return: Instance of RateLimitInterceptor
+     */
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    /**
+     * @Description: Injects the ConcurrencyLimitInterceptor; registered after the RateLimitInterceptor so rate-limited requests never take a permit
+     * @Param: None
+     * @return: Instance of ConcurrencyLimitInterceptor
+     */
+    @Autowired
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Autowired
+    private ResponseCacheConfig responseCacheConfig;
+
     /**
      * @Description: Adds the LoginInterceptor to the interceptor registry and excludes certain paths from interception
      * @Param: registry - InterceptorRegistry instance to manage interceptors
@@ -31,8 +77,49 @@ public class WebConfig implements WebMvcConfigurer {
      */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(traceInterceptor);
         registry.addInterceptor(loginInterceptor)
-                .excludePathPatterns("/user/login", "/user/register", "/doc.html", "/webjars/**", "/swagger-resources/**", "/v3/api-docs/**"
+                .excludePathPatterns("/user/login", "/user/register", "/files/**", "/actuator/**", "/doc.html", "/webjars/**", "/swagger-resources/**", "/v3/api-docs/**"
                 );
+        registry.addInterceptor(rateLimitInterceptor)
+                .excludePathPatterns("/files/**", "/actuator/**");
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .excludePathPatterns("/actuator/**");
+        registry.addInterceptor(listResponseCacheInterceptor)
+                .addPathPatterns(ListResponseCacheFilter.CACHED_PATHS.toArray(new String[0]));
+    }
+
+    /**
+     * @Description: Lets browsers send signed direct uploads to local storage from the front-end origin. The signature in the URL is the only
+     * credential, so no cookies or authorization headers are allowed.
+     * @Param: registry - CorsRegistry instance to manage CORS mappings
+     * @return: None
+     */
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry.addMapping("/files/**")
+                .allowedOriginPatterns("*")
+                .allowedMethods("GET", "HEAD", "PUT")
+                .allowedHeaders("Content-Type")
+                .allowCredentials(false)
+                .maxAge(3600);
+    }
+
+    /**
+     * @Description: Enables gzip compression of JSON, NDJSON, CSV and text responses above the configured size. Responses served
+     * pre-compressed from the list response cache already carry Content-Encoding and are not compressed again.
+     * @Param: None
+     * @return: WebServerFactoryCustomizer - Customizer applying the compression settings
+     */
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableServletWebServerFactory> compressionCustomizer() {
+        return factory -> {
+            Compression compression = new Compression();
+            compression.setEnabled(responseCacheConfig.isCompressionEnabled());
+            compression.setMinResponseSize(DataSize.ofBytes(responseCacheConfig.getCompressionMinSize()));
+            compression.setMimeTypes(new String[]{"application/json", "application/x-ndjson", "text/csv", "text/html",
+                    "text/plain", "text/css", "application/javascript"});
+            factory.setCompression(compression);
+        };
     }
 }
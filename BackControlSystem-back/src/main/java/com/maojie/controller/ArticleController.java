@@ -1,19 +1,37 @@
 package com.maojie.controller;
 
+import com.maojie.anno.Bulkhead;
 import com.maojie.pojo.Article;
+import com.maojie.pojo.ArticleBatchState;
+import com.maojie.pojo.ArticleImportResult;
+import com.maojie.pojo.ArticleSearchHit;
+import com.maojie.pojo.ArticleSummary;
+import com.maojie.pojo.BatchItemResult;
 import com.maojie.pojo.PageBean;
 import com.maojie.pojo.Result;
+import com.maojie.pojo.TransferFormat;
 import com.maojie.service.ArticleService;
+import com.maojie.service.ArticleTransferService;
+import com.maojie.utils.ConditionalGetUtil;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
+@Bulkhead("api")
 @RequestMapping("/article")
 public class ArticleController {
 
     @Autowired
     private ArticleService articleService;
+    @Autowired
+    private ArticleTransferService articleTransferService;
 
     /**
      * @Description: Adds a new article to the system
@@ -42,15 +60,18 @@ public class ArticleController {
     }
 
     /**
-     * @Description: Retrieves the details of a specific article by its ID
-     * @Param: id - ID of the article to retrieve
-     * @return: Result<Article> - Success message with the article's details
+     * @Description: Retrieves the details of a specific article by its ID. Supports conditional GET: a matching If-None-Match or If-Modified-Since gets 304 without a body
+     * @Param: id - ID of the article to retrieve; request - Current request, used for the ETag and Last-Modified headers
+     * @return: Result<Article> - Success message with the article's details, or null when 304 was sent
      * @Author: Maojie Xu
      * @Date: 10/24/2024
      */
     @GetMapping("/detail")
-    public Result<Article> detail(Integer id) {
+    public Result<Article> detail(Integer id, ServletWebRequest request) {
         Article a = articleService.findById(id);
+        if (a != null && ConditionalGetUtil.notModified(request, a.getId(), a.getUpdateTime())) {
+            return null;
+        }
         return Result.success(a);
     }
 
@@ -68,17 +89,92 @@ public class ArticleController {
     }
 
     /**
-     * @Description: Retrieves a paginated list of articles with optional filters for category and state
-     * @Param: pageNum - Current page number, pageSize - Number of articles per page, categoryId - Optional category ID filter, state - Optional state filter
-     * @return: Result<PageBean<Article>> - Success message with the paginated list of articles
+     * @Description: Retrieves a paginated list of article summaries with optional filters for category and state.
+     * Passing a cursor (empty for the first page) switches to keyset mode, where deep pages cost the same as the first one;
+     * the total count is then skipped unless count=true. In offset mode count defaults to true.
+     * @Param: pageNum - Current page number, pageSize - Number of articles per page, categoryId - Optional category ID filter, state - Optional state filter, cursor - Optional keyset cursor, count - Optional flag to compute the total
+     * @return: Result<PageBean<ArticleSummary>> - Success message with the paginated list of article summaries
      * @Author: Maojie Xu
      * @Date: 10/24/2024
      */
     @GetMapping
-    public Result<PageBean<Article>> list(Integer pageNum, Integer pageSize,
+    public Result<PageBean<ArticleSummary>> list(Integer pageNum, Integer pageSize,
                                           @RequestParam(required = false) Integer categoryId,
-                                          @RequestParam(required = false) String state) {
-        PageBean<Article> pb = articleService.list(pageNum, pageSize, categoryId, state);
+                                          @RequestParam(required = false) String state,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Boolean count) {
+        if (cursor != null) {
+            PageBean<ArticleSummary> pb = articleService.listByCursor(cursor, pageSize, categoryId, state, Boolean.TRUE.equals(count));
+            return Result.success(pb);
+        }
+        PageBean<ArticleSummary> pb = articleService.list(pageNum, pageSize, categoryId, state, !Boolean.FALSE.equals(count));
         return Result.success(pb);
     }
+
+    /**
+     * @Description: Full-text search over the titles and contents of the current user's articles
+     * @Param: q - Search query; limit - Optional maximum number of hits (default 10, at most 100)
+     * @return: Result<List<ArticleSearchHit>> - Success message with ranked hits and highlighted snippets
+     */
+    @GetMapping("/search")
+    public Result<List<ArticleSearchHit>> search(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        return Result.success(articleService.search(q, limit));
+    }
+
+    /**
+     * @Description: Creates many articles in one request and one transaction; invalid items are reported and skipped
+     * @Param: articles - Articles to create
+     * @return: Result<List<BatchItemResult>> - Success message with one result per article, in order
+     */
+    @PostMapping("/batch")
+    public Result<List<BatchItemResult>> addBatch(@RequestBody List<Article> articles) {
+        return Result.success(articleService.addBatch(articles));
+    }
+
+    /**
+     * @Description: Publishes or archives many articles at once with a single UPDATE
+     * @Param: batchState - Article IDs and the new state
+     * @return: Result<List<BatchItemResult>> - Success message with one result per article ID
+     */
+    @PatchMapping("/batch/state")
+    public Result<List<BatchItemResult>> updateStateBatch(@RequestBody @Validated ArticleBatchState batchState) {
+        return Result.success(articleService.updateStateBatch(batchState));
+    }
+
+    /**
+     * @Description: Deletes many articles at once with a single DELETE
+     * @Param: ids - IDs of the articles to delete
+     * @return: Result<List<BatchItemResult>> - Success message with one result per article ID
+     */
+    @DeleteMapping("/batch")
+    public Result<List<BatchItemResult>> deleteBatch(@RequestParam List<Integer> ids) {
+        return Result.success(articleService.deleteBatch(ids));
+    }
+
+    /**
+     * @Description: Downloads all of the current user's articles, streamed straight from the database to the response
+     * @Param: format - "ndjson" (default) or "csv"
+     * @Param: response - HTTP response the file is written to
+     * @return: void
+     */
+    @Bulkhead("transfer")
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        TransferFormat transferFormat = TransferFormat.of(format);
+        response.setContentType(transferFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"articles." + transferFormat.getExtension() + "\"");
+        articleTransferService.export(transferFormat, response.getOutputStream());
+    }
+
+    /**
+     * @Description: Imports articles from the raw request body (NDJSON or CSV with a header row), validating each row and inserting in batches
+     * @Param: format - "ndjson" (default) or "csv"
+     * @Param: body - Request body stream
+     * @return: Result<ArticleImportResult> - Success message with the number of imported and rejected rows
+     */
+    @Bulkhead("transfer")
+    @PostMapping("/import")
+    public Result<ArticleImportResult> importArticles(@RequestParam(defaultValue = "ndjson") String format, InputStream body) throws IOException {
+        return Result.success(articleTransferService.importArticles(TransferFormat.of(format), body));
+    }
 }
@@ -1,15 +1,19 @@
 package com.maojie.controller;
 
+import com.maojie.anno.Bulkhead;
 import com.maojie.pojo.Category;
 import com.maojie.pojo.Result;
 import com.maojie.service.CategoryService;
+import com.maojie.utils.ConditionalGetUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
 @RestController
+@Bulkhead("api")
 @RequestMapping("/category")
 public class CategoryController {
 
@@ -43,15 +47,18 @@ public class CategoryController {
     }
 
     /**
-     * @Description: Retrieves the details of a specific category by its ID
-     * @Param: id - ID of the category to retrieve
-     * @return: Result<Category> - Success message with the category details
+     * @Description: Retrieves the details of a specific category by its ID. Supports conditional GET: a matching If-None-Match or If-Modified-Since gets 304 without a body
+     * @Param: id - ID of the category to retrieve; request - Current request, used for the ETag and Last-Modified headers
+     * @return: Result<Category> - Success message with the category details, or null when 304 was sent
      * @Author: Maojie Xu
      * @Date: 10/24/2024
      */
     @GetMapping("/detail")
-    public Result<Category> detail(Integer id) {
+    public Result<Category> detail(Integer id, ServletWebRequest request) {
         Category c = categoryService.findById(id);
+        if (c != null && ConditionalGetUtil.notModified(request, c.getId(), c.getUpdateTime())) {
+            return null;
+        }
         return Result.success(c);
     }
 
@@ -1,20 +1,28 @@
 package com.maojie.controller;
 
+import com.maojie.anno.Bulkhead;
 import com.maojie.pojo.Result;
-import com.maojie.utils.AliOssUtil;
+import com.maojie.pojo.UploadSignRequest;
+import com.maojie.pojo.UploadTicket;
+import com.maojie.service.UploadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.UUID;
-
 @RestController
+@Bulkhead("upload")
 public class FileUploadController {
 
+    @Autowired
+    private UploadService uploadService;
+
     /**
-     * @Description: Handles file upload to AliCloud OSS. Generates a unique filename for the file, uploads it, and returns the file's URL.
+     * @Description: Handles file upload to the configured storage. The file is named after its content, so uploading the same file again
+     * returns the existing URL without storing it a second time.
      * @Param: file - MultipartFile representing the file to be uploaded
      * @return: Result<String> - Success message containing the URL of the uploaded file
      * @Author: Maojie Xu
@@ -22,9 +30,27 @@ public class FileUploadController {
      */
     @PostMapping("upload")
     public Result<String> upload(MultipartFile file) throws Exception {
-        String originalFilename = file.getOriginalFilename();
-        String filename = UUID.randomUUID().toString() + originalFilename.substring(originalFilename.lastIndexOf("."));
-        String url = AliOssUtil.uploadFile(filename, file.getInputStream());
-        return Result.success(url);
+        return Result.success(uploadService.upload(file));
+    }
+
+    /**
+     * @Description: Issues a short-lived signed request for uploading a file straight to storage, so its bytes never pass through this server.
+     * If identical content is already stored its URL is returned instead and nothing needs uploading.
+     * @Param: request - SHA-256, name, content type and size of the file
+     * @return: Result<UploadTicket> - Existing URL or signed upload request
+     */
+    @PostMapping("upload/sign")
+    public Result<UploadTicket> sign(@RequestBody @Validated UploadSignRequest request) {
+        return Result.success(uploadService.sign(request));
+    }
+
+    /**
+     * @Description: Called by the client after a signed upload succeeded; verifies the stored object and records it.
+     * @Param: objectName - Object name from the upload ticket
+     * @return: Result<String> - URL of the uploaded file
+     */
+    @PostMapping("upload/complete")
+    public Result<String> complete(@RequestParam String objectName) throws Exception {
+        return Result.success(uploadService.complete(objectName));
     }
 }
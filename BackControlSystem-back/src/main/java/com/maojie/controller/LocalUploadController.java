@@ -0,0 +1,55 @@
+package com.maojie.controller;
+
+import com.maojie.anno.Bulkhead;
+import com.maojie.config.DirectUploadConfig;
+import com.maojie.service.impl.LocalStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+
+@RestController
+@Bulkhead("upload")
+@ConditionalOnProperty(prefix = "storage", name = "type", havingValue = "local")
+public class LocalUploadController {
+
+    @Autowired
+    private LocalStorageService localStorageService;
+    @Autowired
+    private DirectUploadConfig directUploadConfig;
+
+    /**
+     * @Description: Receives a direct upload signed by LocalStorageService.presignUpload, the local stand-in for an OSS presigned PUT. The signed URL
+     * is the only credential, so this path is not behind the login interceptor. Like OSS with x-oss-forbid-overwrite, an existing file is never replaced.
+     * @Param: name - Name of the file; expires - Expiry from the signed URL; signature - Signature from the signed URL; request - HTTP request carrying the file as its body; response - HTTP response
+     * @return: void
+     */
+    @PutMapping("/files/{name}")
+    public void upload(@PathVariable String name, @RequestParam long expires, @RequestParam String signature,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String contentType = request.getContentType() == null ? "" : request.getContentType();
+        if (!localStorageService.verifyUpload(name, contentType, expires, signature)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Invalid or expired signature");
+            return;
+        }
+        if (request.getContentLengthLong() > directUploadConfig.getMaxSize()) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        try (InputStream in = request.getInputStream()) {
+            if (!localStorageService.storeNew(name, in, directUploadConfig.getMaxSize())) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            }
+        } catch (FileAlreadyExistsException e) {
+            response.sendError(HttpServletResponse.SC_CONFLICT, "Object already exists");
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.maojie.controller;
 
+import com.maojie.anno.Bulkhead;
+import com.maojie.cache.TokenCache;
 import com.maojie.pojo.Result;
 import com.maojie.pojo.User;
 import com.maojie.service.UserService;
 import com.maojie.utils.JwtUtil;
-import com.maojie.utils.Md5Util;
 import com.maojie.utils.ThreadLocalUtil;
 import jakarta.validation.constraints.Pattern;
 import org.hibernate.validator.constraints.URL;
@@ -20,6 +21,7 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @RestController
+@Bulkhead("api")
 @RequestMapping("/user")
 @Validated
 public class UserController {
@@ -28,6 +30,8 @@ public class UserController {
     private UserService userService;
     @Autowired
     private StringRedisTemplate stringRedisTemplate;
+    @Autowired
+    private TokenCache tokenCache;
 
     /**
      * @Description: Registers a new user in the system if the username is not already taken
@@ -61,7 +65,7 @@ public class UserController {
             return Result.error("Username errors");
         }
 
-        if (Md5Util.getMD5String(password).equals(loginUser.getPassword())) {
+        if (userService.checkPassword(loginUser, password)) {
             // login success
             Map<String, Object> claims = new HashMap<>();
             claims.put("id", loginUser.getId());
@@ -84,9 +88,7 @@ public class UserController {
      */
     @GetMapping("/userInfo")
     public Result<User> userInfo(@RequestHeader(name = "Authorization") String token) {
-        Map<String, Object> map = ThreadLocalUtil.get();
-        String username = (String) map.get("username");
-        User user = userService.findByUserName(username);
+        User user = ThreadLocalUtil.get().getUser();
         return Result.success(user);
     }
 
@@ -133,10 +135,8 @@ public class UserController {
             return Result.error("need necessary argument");
         }
 
-        Map<String, Object> map = ThreadLocalUtil.get();
-        String username = (String) map.get("username");
-        User loginUser = userService.findByUserName(username);
-        if (!loginUser.getPassword().equals(Md5Util.getMD5String(oldPwd))) {
+        User loginUser = ThreadLocalUtil.get().getUser();
+        if (!userService.checkPassword(loginUser, oldPwd)) {
             return Result.error("original password is wrong");
         }
         if (!rePwd.equals(newPwd)) {
@@ -147,6 +147,8 @@ public class UserController {
         // delete token from Redis
         ValueOperations<String, String> operations = stringRedisTemplate.opsForValue();
         operations.getOperations().delete(token);
+        // drop it from the token cache of every node
+        tokenCache.revoke(token);
         return Result.success();
     }
 }
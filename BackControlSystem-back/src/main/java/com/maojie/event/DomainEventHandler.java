@@ -0,0 +1,19 @@
+package com.maojie.event;
+
+import com.maojie.pojo.DomainEvent;
+
+import java.util.List;
+
+/**
+ * @Description: Side effect run by the event bus consumers for batches of committed domain events. Every bean implementing this
+ * interface receives every batch. Events can be delivered more than once (after a failure or a sweep), so handlers must be idempotent.
+ */
+public interface DomainEventHandler {
+
+    /**
+     * @Description: Handles a batch of events in commit order. Throwing marks the whole batch for redelivery.
+     * @Param: events - Events to handle
+     * @return: void
+     */
+    void handle(List<DomainEvent> events);
+}
@@ -0,0 +1,294 @@
+package com.maojie.event;
+
+import com.maojie.config.EventBusConfig;
+import com.maojie.mapper.EventOutboxMapper;
+import com.maojie.pojo.DomainEvent;
+import com.maojie.pojo.EventType;
+import com.maojie.utils.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @Description: In-process domain event bus with a transactional outbox.
+ * publish writes the events to the event_outbox table inside the caller's transaction, so an event exists if and only if the change
+ * committed. After commit the events go into a lock-free bounded ring buffer; consumer threads drain it in batches, run every
+ * DomainEventHandler on the batch and mark the outbox rows processed with one UPDATE. A full queue is handled by the configured
+ * overflow policy. Events that never reach a consumer (dropped, failed, or lost in a crash) stay pending in the outbox and are
+ * redelivered by a periodic sweep, which also purges processed rows past the retention period.
+ */
+@Slf4j
+@Component
+public class EventBus {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10); // Longest delay before a parked consumer rechecks the queue
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final int SWEEP_LIMIT = 1000;
+
+    private static final int PURGE_LIMIT = 5000;
+
+    private final EventBusConfig config;
+
+    private final EventOutboxMapper eventOutboxMapper;
+
+    private final List<DomainEventHandler> handlers;
+
+    private final RingBuffer<DomainEvent> queue;
+
+    private final List<Consumer> consumers = new ArrayList<>();
+
+    private ScheduledExecutorService sweeper;
+
+    private volatile boolean running;
+
+    private final Counter published;
+
+    private final Counter dropped;
+
+    private final Counter callerRuns;
+
+    private final Counter processed;
+
+    private final Counter failed;
+
+    private final Counter swept;
+
+    private final Timer batchTimer;
+
+    public EventBus(EventBusConfig config, EventOutboxMapper eventOutboxMapper, List<DomainEventHandler> handlers, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.eventOutboxMapper = eventOutboxMapper;
+        this.handlers = handlers;
+        this.queue = new RingBuffer<>(config.getCapacity());
+        this.published = meterRegistry.counter("event.bus.published");
+        this.dropped = meterRegistry.counter("event.bus.dropped");
+        this.callerRuns = meterRegistry.counter("event.bus.caller.runs");
+        this.processed = meterRegistry.counter("event.bus.processed");
+        this.failed = meterRegistry.counter("event.bus.failed");
+        this.swept = meterRegistry.counter("event.bus.swept");
+        this.batchTimer = Timer.builder("event.bus.batch")
+                .description("Time to run all handlers on one batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("event.bus.queue.size", queue, RingBuffer::size).register(meterRegistry);
+        Gauge.builder("event.bus.queue.capacity", queue, RingBuffer::capacity).register(meterRegistry);
+    }
+
+    /**
+     * @Description: Starts the consumer threads and the outbox sweeper.
+     * @Param: None
+     * @return: void
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < config.getConsumers(); i++) {
+            Consumer consumer = new Consumer();
+            Thread thread = new Thread(consumer, "event-consumer-" + i);
+            thread.setDaemon(true);
+            consumer.thread = thread;
+            consumers.add(consumer);
+            thread.start();
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "event-outbox-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, config.getSweepIntervalSeconds(), config.getSweepIntervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * @Description: Stops the sweeper and lets the consumers drain what is already queued; anything left stays pending in the outbox.
+     * @Param: None
+     * @return: void
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        sweeper.shutdownNow();
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+        }
+        for (Consumer consumer : consumers) {
+            consumer.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * @Description: Records one event in the caller's transaction and queues it for the handlers after commit.
+     * @Param: type - Event type; aggregateId - ID of the changed entity; userId - ID of the acting user
+     * @return: void
+     */
+    public void publish(EventType type, Integer aggregateId, Integer userId) {
+        publishAll(type, List.of(aggregateId), userId, null);
+    }
+
+    /**
+     * @Description: Records one event per entity with a single INSERT in the caller's transaction and queues them after commit.
+     * @Param: type - Event type; aggregateIds - IDs of the changed entities; userId - ID of the acting user
+     * @return: void
+     */
+    public void publishAll(EventType type, Collection<Integer> aggregateIds, Integer userId) {
+        publishAll(type, aggregateIds, userId, null);
+    }
+
+    /**
+     * @Description: Like publishAll, for callers whose transaction writes through a BATCH-executor session; the outbox INSERT then goes
+     * through the same session (a transaction cannot mix executor types) and is sent with the caller's next flush or the commit.
+     * @Param: type - Event type; aggregateIds - IDs of the changed entities; userId - ID of the acting user; session - The caller's session, or null for the default one
+     * @return: void
+     */
+    public void publishAll(EventType type, Collection<Integer> aggregateIds, Integer userId, SqlSession session) {
+        if (aggregateIds.isEmpty()) {
+            return;
+        }
+        List<DomainEvent> events = new ArrayList<>(aggregateIds.size());
+        for (Integer id : aggregateIds) {
+            events.add(new DomainEvent(type, id, userId));
+        }
+        EventOutboxMapper outbox = session == null ? eventOutboxMapper : session.getMapper(EventOutboxMapper.class);
+        outbox.insertAll(events);
+        TransactionUtil.afterCommit(() -> enqueue(events));
+    }
+
+    private void enqueue(List<DomainEvent> events) {
+        published.increment(events.size());
+        List<DomainEvent> overflow = null;
+        for (DomainEvent event : events) {
+            if (!queue.offer(event) && !offerOnOverflow(event)) {
+                if (config.getOverflowPolicy() == EventBusConfig.OverflowPolicy.CALLER_RUNS) {
+                    if (overflow == null) {
+                        overflow = new ArrayList<>();
+                    }
+                    overflow.add(event);
+                } else {
+                    dropped.increment();
+                }
+            }
+        }
+        wakeConsumer();
+        if (overflow != null) {
+            callerRuns.increment(overflow.size());
+            dispatch(overflow);
+        }
+    }
+
+    private boolean offerOnOverflow(DomainEvent event) {
+        if (config.getOverflowPolicy() != EventBusConfig.OverflowPolicy.BLOCK) {
+            return false;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getOfferTimeoutMs());
+        while (System.nanoTime() < deadline) {
+            wakeConsumer();
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (queue.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void wakeConsumer() {
+        for (Consumer consumer : consumers) {
+            if (consumer.parked) {
+                LockSupport.unpark(consumer.thread);
+                return;
+            }
+        }
+    }
+
+    private void dispatch(List<DomainEvent> batch) {
+        long start = System.nanoTime();
+        boolean ok = true;
+        for (DomainEventHandler handler : handlers) {
+            try {
+                handler.handle(batch);
+            } catch (Exception e) {
+                ok = false;
+                log.warn("Event handler {} failed on a batch of {} events: {}", handler.getClass().getSimpleName(), batch.size(), e.toString());
+            }
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (DomainEvent event : batch) {
+            ids.add(event.getId());
+        }
+        try {
+            if (ok) {
+                eventOutboxMapper.markProcessed(ids, LocalDateTime.now());
+                processed.increment(batch.size());
+            } else {
+                eventOutboxMapper.markFailed(ids);
+                failed.increment(batch.size());
+            }
+        } catch (Exception e) {
+            // the rows stay pending and the sweep delivers them again
+            log.warn("Failed to update {} outbox rows: {}", ids.size(), e.toString());
+        }
+    }
+
+    private void sweep() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<DomainEvent> pending = eventOutboxMapper.findPending(now.minusSeconds(config.getSweepDelaySeconds()), config.getMaxAttempts(), SWEEP_LIMIT);
+            int n = 0;
+            for (DomainEvent event : pending) {
+                if (!queue.offer(event)) {
+                    break;
+                }
+                n++;
+            }
+            if (n > 0) {
+                swept.increment(n);
+                wakeConsumer();
+                log.info("Redelivering {} pending outbox events", n);
+            }
+            eventOutboxMapper.purge(now.minusDays(config.getRetentionDays()), PURGE_LIMIT);
+        } catch (Exception e) {
+            log.warn("Outbox sweep failed: {}", e.toString());
+        }
+    }
+
+    private final class Consumer implements Runnable {
+
+        private Thread thread;
+
+        private volatile boolean parked;
+
+        @Override
+        public void run() {
+            List<DomainEvent> batch = new ArrayList<>(config.getMaxBatchSize());
+            while (running || !queue.isEmpty()) {
+                if (queue.drainTo(batch, config.getMaxBatchSize()) == 0) {
+                    parked = true;
+                    if (queue.isEmpty() && running) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    parked = false;
+                    continue;
+                }
+                dispatch(batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.maojie.event;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @Description: Lock-free bounded multi-producer multi-consumer queue (Dmitry Vyukov's array-based design). Every slot carries a
+ * sequence number that tells producers and consumers whether it is free for the lap they are on, so offer and poll each need only
+ * one CAS on the shared head or tail counter and never block. offer fails immediately when the buffer is full, leaving the
+ * overflow decision to the caller.
+ */
+public final class RingBuffer<E> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> buffer;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong head = new AtomicLong(); // Next position to enqueue
+
+    private final AtomicLong tail = new AtomicLong(); // Next position to dequeue
+
+    /**
+     * @Description: Creates an empty buffer.
+     * @Param: capacity - Number of slots; must be a power of two so positions map to slots with a mask
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two >= 2: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.setRelease(i, i);
+        }
+    }
+
+    /**
+     * @Description: Adds an element if there is room.
+     * @Param: e - Element to add, not null
+     * @return: boolean - False if the buffer is full
+     */
+    public boolean offer(E e) {
+        long pos = head.get();
+        while (true) {
+            int slot = (int) (pos & mask);
+            long diff = sequences.getAcquire(slot) - pos;
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    buffer.setPlain(slot, e);
+                    sequences.setRelease(slot, pos + 1); // publishes the element to consumers
+                    return true;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return false; // the slot still holds an element from the previous lap
+            } else {
+                pos = head.get(); // another producer claimed this position
+            }
+        }
+    }
+
+    /**
+     * @Description: Removes the oldest element.
+     * @Param: None
+     * @return: E - The element, or null if the buffer is empty
+     */
+    public E poll() {
+        long pos = tail.get();
+        while (true) {
+            int slot = (int) (pos & mask);
+            long diff = sequences.getAcquire(slot) - (pos + 1);
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    E e = buffer.getPlain(slot);
+                    buffer.setPlain(slot, null);
+                    sequences.setRelease(slot, pos + mask + 1); // frees the slot for the producers' next lap
+                    return e;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @Description: Moves up to max elements into the collection.
+     * @Param: target - Collection receiving the elements; max - Maximum number of elements to move
+     * @return: int - Number of elements moved
+     */
+    public int drainTo(Collection<? super E> target, int max) {
+        int n = 0;
+        E e;
+        while (n < max && (e = poll()) != null) {
+            target.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * @Description: Approximate number of queued elements; exact only when no other thread is using the buffer.
+     * @Param: None
+     * @return: int - Element count
+     */
+    public int size() {
+        long size = head.get() - tail.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,12 @@
+package com.maojie.exception;
+
+/**
+ * @Description: Thrown by services to reject a request the client got wrong (an invalid argument, a disabled feature, a limit exceeded).
+ * GlobalExceptionHandler answers it with 400 and its message; a plain IllegalArgumentException is treated as a server bug instead.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
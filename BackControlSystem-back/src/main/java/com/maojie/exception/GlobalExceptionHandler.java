@@ -1,24 +1,128 @@
 package com.maojie.exception;
 
 import com.maojie.pojo.Result;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.util.StringUtils;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.util.stream.Collectors;
+
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final StackTraceLimiter stackTraceLimiter;
+
+    public GlobalExceptionHandler(StackTraceLimiter stackTraceLimiter) {
+        this.stackTraceLimiter = stackTraceLimiter;
+    }
+
+    /**
+     * @Description: Handles bean validation failures on request bodies and bound parameters (e.g. @Pattern, @URL, @State). Expected client errors are logged at debug level without a stack trace.
+     * @Param: e - The binding exception listing the rejected fields
+     * @return: Result - Error message naming each invalid field
+     */
+    @ExceptionHandler(BindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Result handleBindException(BindException e, HttpServletRequest request) {
+        String message = e.getFieldErrors().stream()
+                .map(FieldError::getField)
+                .distinct()
+                .map(field -> field + " " + e.getFieldError(field).getDefaultMessage())
+                .collect(Collectors.joining("; "));
+        return clientError(request, e, StringUtils.hasLength(message) ? message : "Invalid request");
+    }
+
+    /**
+     * @Description: Handles validation failures on method parameters of @Validated controllers
+     * @Param: e - The exception listing the violated constraints
+     * @return: Result - Error message naming each invalid parameter
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Result handleConstraintViolation(ConstraintViolationException e, HttpServletRequest request) {
+        String message = e.getConstraintViolations().stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return clientError(request, e, message);
+    }
+
+    /**
+     * @Description: Handles malformed or incomplete requests: unreadable bodies, missing or mistyped parameters, and requests rejected by the services
+     * with BadRequestException. A plain IllegalArgumentException is not a client error here; it reaches handleException as a server bug.
+     * @Param: e - The exception describing what was wrong with the request
+     * @return: Result - Error message
+     */
+    @ExceptionHandler({HttpMessageNotReadableException.class, MissingServletRequestParameterException.class,
+            MethodArgumentTypeMismatchException.class, BadRequestException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Result handleBadRequest(Exception e, HttpServletRequest request) {
+        String message = e instanceof HttpMessageNotReadableException ? "Malformed request body" : e.getMessage();
+        return clientError(request, e, StringUtils.hasLength(message) ? message : "Invalid request");
+    }
+
+    /**
+     * @Description: Handles requests using an HTTP method the endpoint does not support
+     * @Param: e - The exception
+     * @return: Result - Error message
+     */
+    @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
+    @ResponseStatus(HttpStatus.METHOD_NOT_ALLOWED)
+    public Result handleMethodNotSupported(HttpRequestMethodNotSupportedException e, HttpServletRequest request) {
+        return clientError(request, e, e.getMessage());
+    }
+
     /**
-     * @Description: Handles all exceptions globally by returning a standardized error response. Logs the exception details and provides an error message if available.
+     * @Description: Handles requests with a body content type the endpoint does not accept
+     * @Param: e - The exception
+     * @return: Result - Error message
+     */
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    @ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+    public Result handleMediaTypeNotSupported(HttpMediaTypeNotSupportedException e, HttpServletRequest request) {
+        return clientError(request, e, e.getMessage());
+    }
+
+    /**
+     * @Description: Handles all remaining exceptions globally by returning a standardized error response. Full stack traces are rate limited per exception type;
+     * beyond the limit a single line is logged and the number of suppressed traces is reported with the next full one.
      * @Param: e - The exception that was thrown
      * @return: Result - Standardized error message with exception details, or a generic failure message if no details are provided
      * @Author: Maojie Xu
      * @Date: 10/24/2024
      */
     @ExceptionHandler(Exception.class)
-    public Result handleException(Exception e) {
-        e.printStackTrace();
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public Result handleException(Exception e, HttpServletRequest request) {
+        int suppressed = stackTraceLimiter.tryAcquire(e.getClass());
+        if (suppressed >= 0) {
+            log.error("request_failed method={} uri={} type={} suppressed_since_last={}",
+                    request.getMethod(), request.getRequestURI(), e.getClass().getName(), suppressed, e);
+        } else {
+            log.error("request_failed method={} uri={} type={} message={} trace=suppressed",
+                    request.getMethod(), request.getRequestURI(), e.getClass().getName(), e.getMessage());
+        }
         return Result.error(StringUtils.hasLength(e.getMessage()) ? e.getMessage() : "Operation failed ");
     }
+
+    private static Result clientError(HttpServletRequest request, Exception e, String message) {
+        if (log.isDebugEnabled()) {
+            log.debug("request_rejected method={} uri={} type={} message={}",
+                    request.getMethod(), request.getRequestURI(), e.getClass().getSimpleName(), message);
+        }
+        return Result.error(message);
+    }
 }
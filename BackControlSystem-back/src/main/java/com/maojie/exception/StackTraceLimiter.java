@@ -0,0 +1,57 @@
+package com.maojie.exception;
+
+import com.maojie.config.ErrorLogConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @Description: Decides whether an exception's full stack trace should be logged, allowing a fixed number per exception type per time window.
+ * A burst of identical failures then costs one short log line each instead of a multi-kilobyte trace.
+ */
+@Component
+public class StackTraceLimiter {
+
+    private final ConcurrentMap<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    private final int tracesPerWindow;
+
+    private final long windowNanos;
+
+    public StackTraceLimiter(ErrorLogConfig config) {
+        this.tracesPerWindow = config.getTracesPerWindow();
+        this.windowNanos = TimeUnit.SECONDS.toNanos(config.getWindowSeconds());
+    }
+
+    /**
+     * @Description: Claims a stack-trace slot for the exception's type in the current window
+     * @Param: type - Exception class
+     * @return: int - Number of traces suppressed for this type since the last allowed one, or -1 if this trace must be suppressed too
+     */
+    public int tryAcquire(Class<?> type) {
+        Window window = windows.computeIfAbsent(type, t -> new Window());
+        long now = System.nanoTime();
+        long start = window.start.get();
+        if (now - start >= windowNanos && window.start.compareAndSet(start, now)) {
+            window.count.set(0);
+        }
+        if (window.count.incrementAndGet() <= tracesPerWindow) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private static final class Window {
+
+        private final AtomicLong start = new AtomicLong(System.nanoTime());
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final AtomicInteger suppressed = new AtomicInteger();
+    }
+}
@@ -0,0 +1,244 @@
+package com.maojie.image;
+
+import com.maojie.config.ImageDerivativeConfig;
+import com.maojie.service.StorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * @Description: Generates resized JPEG variants of uploaded images in the background. Each image is decoded once, scaled down to every
+ * width in ImageVariants.WIDTHS that is smaller than the original, recompressed, and stored next to the original through the
+ * StorageService. The widths actually stored are reported back to the caller, which records them so clients are only pointed at
+ * variants that exist. Work runs on a small fixed pool with a bounded queue; when the queue is full the upload is simply left without
+ * variants, so a burst of uploads never blocks request threads or grows memory.
+ */
+@Slf4j
+@Component
+public class ImageDerivativePipeline {
+
+    private final ImageDerivativeConfig config;
+
+    private final StorageService storageService;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Counter generated;
+
+    private final Counter rejected;
+
+    private final Counter failed;
+
+    private final Timer timer;
+
+    public ImageDerivativePipeline(ImageDerivativeConfig config, StorageService storageService, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.storageService = storageService;
+        ImageIO.setUseCache(false); // encode into memory instead of a temporary cache file per image
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()), r -> {
+            Thread t = new Thread(r, "image-derivative-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.generated = meterRegistry.counter("image.derivative.generated");
+        this.rejected = meterRegistry.counter("image.derivative.rejected");
+        this.failed = meterRegistry.counter("image.derivative.failed");
+        this.timer = Timer.builder("image.derivative.time")
+                .description("Time to decode, resize, encode and store all variants of one image")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("image.derivative.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * @Description: Tells whether submit would take the object, so callers only keep a copy of uploads the pipeline will use.
+     * @Param: objectName - Name of the stored original
+     * @return: boolean - True if the pipeline is enabled and the object is a supported image
+     */
+    public boolean accepts(String objectName) {
+        return config.isEnabled() && ImageVariants.isSupported(objectName);
+    }
+
+    /**
+     * @Description: Queues variant generation for a stored original. The pipeline takes ownership of the source file and deletes it when done,
+     * including when the request is not accepted.
+     * @Param: objectName - Name of the stored original; source - Temporary file holding the original's bytes; onStored - Called on the pipeline
+     * thread with the widths of the variants that were stored, if at least one was
+     * @return: boolean - False if the pipeline is disabled, the file is not a supported image, or the queue is full
+     */
+    public boolean submit(String objectName, Path source, Consumer<List<Integer>> onStored) {
+        if (!accepts(objectName)) {
+            deleteQuietly(source);
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    timer.record(() -> process(objectName, source, onStored));
+                } finally {
+                    deleteQuietly(source);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Image derivative queue full, {} is stored without variants", objectName);
+            deleteQuietly(source);
+            return false;
+        }
+    }
+
+    private void process(String objectName, Path source, Consumer<List<Integer>> onStored) {
+        List<Integer> stored = new ArrayList<>(ImageVariants.WIDTHS.length);
+        try {
+            BufferedImage image = decode(source);
+            if (image == null) {
+                return;
+            }
+            for (int width : ImageVariants.WIDTHS) {
+                if (width >= image.getWidth()) {
+                    continue;
+                }
+                byte[] jpeg = encode(resize(image, width));
+                storageService.store(ImageVariants.variantName(objectName, width), new ByteArrayInputStream(jpeg), jpeg.length);
+                stored.add(width);
+                generated.increment();
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Failed to generate variants of {}: {}", objectName, e.toString());
+        }
+        if (!stored.isEmpty()) {
+            try {
+                onStored.accept(stored);
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Failed to record the variants of {}: {}", objectName, e.toString());
+            }
+        }
+    }
+
+    /**
+     * @Description: Decodes the first frame of the image, after checking its dimensions from the header so oversized images are never allocated.
+     * @Param: source - Image file
+     * @return: BufferedImage - Decoded image, or null if the format is not readable or the image is too large
+     */
+    private BufferedImage decode(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > config.getMaxPixels()) {
+                    log.info("Skipping variants of a {}-pixel image", pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * @Description: Scales the image down to the target width, halving the size in bilinear steps until the last step; a single bilinear
+     * step over a large ratio skips most source pixels and aliases badly. Transparent areas are flattened onto white since JPEG has no alpha.
+     * @Param: image - Source image; width - Target width, smaller than the source width
+     * @return: BufferedImage - RGB image of the target width with the source aspect ratio
+     */
+    static BufferedImage resize(BufferedImage image, int width) {
+        int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, w, h);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(config.getQuality());
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload {}: {}", path, e.toString());
+        }
+    }
+
+    /**
+     * @Description: Stops accepting work and gives queued images a few seconds to finish when the application stops.
+     * @return: void
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
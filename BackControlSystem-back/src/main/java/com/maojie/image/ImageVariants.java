@@ -0,0 +1,113 @@
+package com.maojie.image;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * @Description: Naming scheme for the resized variants of uploaded images. A variant is stored next to its original under a name
+ * derived from the original's; which widths were actually stored is recorded on the upload's upload_object row.
+ */
+public final class ImageVariants {
+
+    /**
+     * Widths of the generated variants in pixels: 160 for list thumbnails, 480 for previews.
+     */
+    public static final int[] WIDTHS = {160, 480};
+
+    public static final String FORMAT = "jpg";
+
+    // uploads are named by the SHA-256 of their content (UploadServiceImpl)
+    private static final Pattern UPLOADED_IMAGE = Pattern.compile("([0-9a-f]{64})\\.(?i:jpe?g|png|gif|bmp)$");
+
+    private ImageVariants() {
+    }
+
+    /**
+     * @Description: Tells whether an uploaded object is an image the pipeline generates variants for.
+     * @Param: objectName - Name of the stored original
+     * @return: boolean - True for images with an upload-generated name
+     */
+    public static boolean isSupported(String objectName) {
+        return objectName != null && UPLOADED_IMAGE.matcher(objectName).matches();
+    }
+
+    /**
+     * @Description: Builds the object name of one variant, e.g. "3f2c...e1_w160.jpg" for "3f2c...e1.png".
+     * @Param: objectName - Name of the stored original; width - Variant width
+     * @return: String - Name of the variant object
+     */
+    public static String variantName(String objectName, int width) {
+        return objectName.substring(0, objectName.lastIndexOf('.')) + "_w" + width + "." + FORMAT;
+    }
+
+    /**
+     * @Description: Extracts the content digest from the URL of an uploaded image.
+     * @Param: url - URL of the original image, may be null
+     * @return: String - Hex SHA-256 of the image, or null if the URL is not an uploaded image
+     */
+    public static String digest(String url) {
+        Matcher m = match(url);
+        return m == null ? null : m.group(1);
+    }
+
+    /**
+     * @Description: Builds the URLs of the given variants of an uploaded image, keyed "w160", "w480".
+     * @Param: url - URL of the original image; widths - Widths of the variants that were stored
+     * @return: Map<String, String> - Variant URLs, or null if the URL is not an uploaded image or there are no widths
+     */
+    public static Map<String, String> variantUrls(String url, Collection<Integer> widths) {
+        Matcher m = match(url);
+        if (m == null || widths == null || widths.isEmpty()) {
+            return null;
+        }
+        String base = url.substring(0, m.start());
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (int width : widths) {
+            urls.put("w" + width, base + variantName(m.group(), width));
+        }
+        return urls;
+    }
+
+    /**
+     * @Description: Formats variant widths for the upload_object.variant_widths column.
+     * @Param: widths - Widths of the stored variants
+     * @return: String - Comma-separated widths, e.g. "160,480"
+     */
+    public static String formatWidths(Collection<Integer> widths) {
+        return widths.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * @Description: Parses the upload_object.variant_widths column.
+     * @Param: widths - Comma-separated widths, may be null
+     * @return: List<Integer> - The widths, empty if there are none
+     */
+    public static List<Integer> parseWidths(String widths) {
+        List<Integer> result = new ArrayList<>();
+        if (widths != null) {
+            for (String w : widths.split(",")) {
+                if (!w.isBlank()) {
+                    result.add(Integer.valueOf(w.trim()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Matcher match(String url) {
+        if (url == null) {
+            return null;
+        }
+        Matcher m = UPLOADED_IMAGE.matcher(url);
+        if (!m.find() || m.start() == 0 || url.charAt(m.start() - 1) != '/') {
+            return null;
+        }
+        return m;
+    }
+}
@@ -0,0 +1,103 @@
+package com.maojie.interceptors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maojie.anno.Bulkhead;
+import com.maojie.config.ConcurrencyLimitConfig;
+import com.maojie.pojo.Result;
+import com.maojie.ratelimit.ConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @Description: Sheds load per bulkhead. Handlers annotated with @Bulkhead (or in an annotated controller) are admitted only while the bulkhead is below its
+ * concurrency limit; otherwise the request gets 503 with Retry-After immediately instead of waiting for a Tomcat thread or a pooled connection.
+ * Handler latency (from admission to completion) drives the adaptive limits. Publishes concurrency.limit and concurrency.inflight gauges and a
+ * concurrency.shed counter per bulkhead.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".admitted";
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final ConcurrencyLimitConfig config;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, ConcurrencyLimiter> limiters = new HashMap<>();
+
+    private final Map<String, Counter> shed = new HashMap<>();
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitConfig config, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        config.getBulkheads().forEach((name, settings) -> {
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(settings);
+            limiters.put(name, limiter);
+            shed.put(name, meterRegistry.counter("concurrency.shed", "bulkhead", name));
+            Gauge.builder("concurrency.limit", limiter, ConcurrencyLimiter::getLimit).tag("bulkhead", name).register(meterRegistry);
+            Gauge.builder("concurrency.inflight", limiter, ConcurrencyLimiter::getInFlight).tag("bulkhead", name).register(meterRegistry);
+        });
+    }
+
+    /**
+     * @Description: Admits the request into its controller's bulkhead, or rejects it if the bulkhead is full.
+     * @Param: request - HTTP request; response - HTTP response; handler - The handler for the current request
+     * @return: boolean - False (with status 503) if the request was shed
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!config.isEnabled() || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        Bulkhead bulkhead = method.getMethodAnnotation(Bulkhead.class);
+        if (bulkhead == null) {
+            bulkhead = method.getBeanType().getAnnotation(Bulkhead.class);
+        }
+        ConcurrencyLimiter limiter = bulkhead == null ? null : limiters.get(bulkhead.value());
+        if (limiter == null) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            shed.get(bulkhead.value()).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Result.error("Server busy, please retry"));
+            return false;
+        }
+        request.setAttribute(ADMITTED_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * @Description: Releases the bulkhead permit. Failed requests are not sampled: they are often fast and would make the limit grow.
+     * @Param: request - HTTP request; response - HTTP response; handler - The handler for the current request; ex - Any exception thrown, if applicable
+     * @return: void
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, @Nullable Exception ex) {
+        ConcurrencyLimiter limiter = (ConcurrencyLimiter) request.getAttribute(ADMITTED_ATTRIBUTE);
+        if (limiter == null) {
+            return;
+        }
+        request.removeAttribute(ADMITTED_ATTRIBUTE);
+        boolean failed = ex != null || response.getStatus() >= 500;
+        limiter.release(failed ? -1 : System.nanoTime() - (Long) request.getAttribute(START_ATTRIBUTE));
+    }
+}
@@ -0,0 +1,57 @@
+package com.maojie.interceptors;
+
+import com.maojie.cache.ListResponseCache;
+import com.maojie.config.ResponseCacheConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * @Description: Buffers the body of cacheable list responses so that, after a cache miss, the serialized bytes can be stored in the
+ * ListResponseCache. Only GET requests to the list paths are wrapped; everything else streams as before.
+ */
+@Component
+public class ListResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * Paths whose GET responses are cached; must match the paths ListResponseCacheInterceptor is registered for.
+     */
+    public static final Set<String> CACHED_PATHS = Set.of("/article", "/category");
+
+    private final ListResponseCache listResponseCache;
+
+    private final ResponseCacheConfig config;
+
+    public ListResponseCacheFilter(ListResponseCache listResponseCache, ResponseCacheConfig config) {
+        this.listResponseCache = listResponseCache;
+        this.config = config;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled() || !"GET".equals(request.getMethod()) || !CACHED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            String key = (String) request.getAttribute(ListResponseCache.KEY_ATTRIBUTE);
+            if (key != null && wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null
+                    && wrapper.getContentType().startsWith("application/json")) {
+                listResponseCache.put(key, wrapper.getContentAsByteArray(), wrapper.getContentType());
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
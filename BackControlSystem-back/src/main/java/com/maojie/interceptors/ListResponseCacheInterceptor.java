@@ -0,0 +1,54 @@
+package com.maojie.interceptors;
+
+import com.maojie.cache.ListResponseCache;
+import com.maojie.config.ResponseCacheConfig;
+import com.maojie.utils.ThreadLocalUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * @Description: Serves list requests from the pre-serialized response cache, skipping the service, MyBatis and Jackson entirely on a hit.
+ * Runs after LoginInterceptor so the user is known. On a miss the cache key is left on the request for ListResponseCacheFilter,
+ * which stores the body the handler produced.
+ */
+@Component
+public class ListResponseCacheInterceptor implements HandlerInterceptor {
+
+    private final ListResponseCache listResponseCache;
+
+    private final ResponseCacheConfig config;
+
+    public ListResponseCacheInterceptor(ListResponseCache listResponseCache, ResponseCacheConfig config) {
+        this.listResponseCache = listResponseCache;
+        this.config = config;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!config.isEnabled() || !"GET".equals(request.getMethod()) || ThreadLocalUtil.get() == null) {
+            return true;
+        }
+        String key = listResponseCache.key(ThreadLocalUtil.get().getId(), request);
+        ListResponseCache.CachedResponse hit = listResponseCache.get(key);
+        if (hit == null) {
+            request.setAttribute(ListResponseCache.KEY_ATTRIBUTE, key);
+            return true;
+        }
+
+        byte[] body = hit.getBody();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (hit.getGzipBody() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            body = hit.getGzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(hit.getContentType());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+}
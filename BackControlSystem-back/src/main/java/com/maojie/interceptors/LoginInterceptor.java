@@ -1,51 +1,93 @@
 package com.maojie.interceptors;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.maojie.cache.TokenCache;
+import com.maojie.pojo.CurrentUser;
+import com.maojie.service.UserService;
 import com.maojie.utils.JwtUtil;
+import com.maojie.utils.RequestTrace;
 import com.maojie.utils.ThreadLocalUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import java.util.Map;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class LoginInterceptor implements HandlerInterceptor {
 
-    @Autowired
-    private StringRedisTemplate stringRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final TokenCache tokenCache;
+
+    private final UserService userService;
+
+    public LoginInterceptor(StringRedisTemplate stringRedisTemplate, TokenCache tokenCache, UserService userService) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.tokenCache = tokenCache;
+        this.userService = userService;
+    }
 
     /**
-     * @Description: Pre-handle method that checks if the user is authenticated by validating the JWT token from the request header. It retrieves the token from Redis and verifies it. If valid, sets the token claims in ThreadLocal for use in the request lifecycle.
+     * @Description: Pre-handle method that checks if the user is authenticated by validating the JWT token from the request header. Tokens verified recently are served from the local token cache; otherwise the token is looked up in Redis and verified, then cached until it expires in Redis or its JWT expires, whichever comes first. If valid, sets the typed CurrentUser in ThreadLocal for use in the request lifecycle; the full user row is only loaded if a handler asks for it.
      * @Param: request - HTTP request; response - HTTP response; handler - The handler for the current request
-     * @return: boolean - Returns true if authentication is successful, false otherwise
+     * @return: boolean - Returns true if authentication is successful, false (with status 401) for a missing, expired, revoked or invalid token. Infrastructure failures such as Redis being unreachable propagate to the exception handler instead of masquerading as 401
      * @Author: Maojie Xu
      * @Date: 10/24/2024
      */
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        long start = System.nanoTime();
         String token = request.getHeader("Authorization");
         try {
-            // Get token from Redis
-            ValueOperations<String, String> operations = stringRedisTemplate.opsForValue();
-            String redisToken = operations.get(token);
-            if (redisToken == null) {
-                // Check token
-                throw new RuntimeException();
+            if (!StringUtils.hasLength(token)) {
+                return unauthorized(response);
             }
-            Map<String, Object> claims = JwtUtil.parseToken(token);
-            ThreadLocalUtil.set(claims);
+            // Verified recently on this node: no Redis round-trip and no signature check
+            CurrentUser currentUser = tokenCache.get(token);
+            if (currentUser == null) {
+                // Remaining lifetime of the token in Redis (-2 if missing, -1 if it never expires); a missing entry means the token expired or was revoked
+                Long redisTtl = stringRedisTemplate.getExpire(token, TimeUnit.MILLISECONDS);
+                if (redisTtl == null || redisTtl == -2) {
+                    return unauthorized(response);
+                }
+                DecodedJWT jwt;
+                try {
+                    jwt = JwtUtil.verify(token);
+                } catch (JWTVerificationException e) {
+                    return unauthorized(response);
+                }
+                currentUser = CurrentUser.fromClaims(jwt.getClaim("claims").asMap());
+                Instant expiresAt = jwt.getExpiresAtAsInstant();
+                if (redisTtl >= 0) {
+                    Instant redisExpiresAt = Instant.now().plusMillis(redisTtl);
+                    if (expiresAt == null || redisExpiresAt.isBefore(expiresAt)) {
+                        expiresAt = redisExpiresAt;
+                    }
+                }
+                tokenCache.put(token, currentUser, expiresAt);
+            }
+            ThreadLocalUtil.set(currentUser.withLoader(userService::findById));
             return true;
-        } catch (Exception e) {
-            response.setStatus(401);
-            return false;
+        } finally {
+            RequestTrace trace = RequestTrace.current();
+            if (trace != null) {
+                trace.addAuth(System.nanoTime() - start);
+            }
         }
     }
 
+    private static boolean unauthorized(HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        return false;
+    }
+
     /**
      * @Description: After-completion method that clears the ThreadLocal storage to prevent memory leaks after request completion
      * @Param: request - HTTP request; response - HTTP response; handler - The handler for the current request; ex - Any exception thrown, if applicable
@@ -0,0 +1,131 @@
+package com.maojie.interceptors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maojie.config.RateLimitConfig;
+import com.maojie.pojo.CurrentUser;
+import com.maojie.pojo.Result;
+import com.maojie.ratelimit.LocalRateLimiter;
+import com.maojie.ratelimit.RedisRateLimiter;
+import com.maojie.utils.ThreadLocalUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: Rejects requests over the per-route limits in RateLimitConfig with 429 and a Retry-After header. Runs after LoginInterceptor, so
+ * requests are keyed by user ID; routes reachable without login are keyed by client address, plus the route's key parameter if it has one
+ * (the submitted username on login), so users sharing an address do not lock each other out. Cluster routes are limited through Redis and fall
+ * back to the local limiter if Redis fails, so an outage loosens the limit to per node instead of rejecting or admitting everything.
+ */
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final long REDIS_WARN_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final int MAX_KEY_PARAMETER_LENGTH = 64;
+
+    private final RateLimitConfig config;
+
+    private final LocalRateLimiter localRateLimiter;
+
+    private final RedisRateLimiter redisRateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Counter redisErrors;
+
+    private volatile long lastRedisWarn = System.nanoTime() - REDIS_WARN_INTERVAL_NANOS;
+
+    public RateLimitInterceptor(RateLimitConfig config, LocalRateLimiter localRateLimiter, RedisRateLimiter redisRateLimiter,
+                                ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.localRateLimiter = localRateLimiter;
+        this.redisRateLimiter = redisRateLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.redisErrors = meterRegistry.counter("rate.limit.redis.errors");
+    }
+
+    /**
+     * @Description: Takes a permit for the first route matching the request and rejects the request if none is available.
+     * @Param: request - HTTP request; response - HTTP response; handler - The handler for the current request
+     * @return: boolean - False (with status 429) if the request is over its limit
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!config.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimitConfig.Route route = match(config.getRoutes(), request.getMethod(), path);
+        if (route == null || route.getPermitsPerSecond() <= 0) {
+            return true;
+        }
+        CurrentUser user = ThreadLocalUtil.get();
+        String key = route.getPattern() + ":" + (user != null ? "u" + user.getId() : anonymousKey(route, request));
+
+        long wait;
+        if (route.isCluster()) {
+            try {
+                wait = redisRateLimiter.tryAcquire(key, route.getPermitsPerSecond(), route.getBurst());
+            } catch (RuntimeException e) {
+                redisErrors.increment();
+                long now = System.nanoTime();
+                if (now - lastRedisWarn >= REDIS_WARN_INTERVAL_NANOS) {
+                    lastRedisWarn = now;
+                    log.warn("Redis rate limiting failed, limiting per node instead: {}", e.toString());
+                }
+                wait = localRateLimiter.tryAcquire(key, route.getPermitsPerSecond(), route.getBurst());
+            }
+        } else {
+            wait = localRateLimiter.tryAcquire(key, route.getPermitsPerSecond(), route.getBurst());
+        }
+        if (wait == 0) {
+            return true;
+        }
+
+        meterRegistry.counter("rate.limit.rejected", "route", route.getPattern()).increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Result.error("Too many requests, retry in " + retryAfter + "s"));
+        return false;
+    }
+
+    private static String anonymousKey(RateLimitConfig.Route route, HttpServletRequest request) {
+        String key = "a" + request.getRemoteAddr();
+        if (route.getKeyParameter() != null) {
+            String value = request.getParameter(route.getKeyParameter());
+            value = value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+            key += ":" + (value.length() > MAX_KEY_PARAMETER_LENGTH ? value.substring(0, MAX_KEY_PARAMETER_LENGTH) : value);
+        }
+        return key;
+    }
+
+    private RateLimitConfig.Route match(List<RateLimitConfig.Route> routes, String method, String path) {
+        for (RateLimitConfig.Route route : routes) {
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(method)) && pathMatcher.match(route.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+}
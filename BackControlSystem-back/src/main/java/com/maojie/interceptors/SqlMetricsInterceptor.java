@@ -0,0 +1,78 @@
+package com.maojie.interceptors;
+
+import com.maojie.utils.RequestTrace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: MyBatis plugin that records the latency of every mapper statement as a "mybatis.sql" timer tagged with the mapper method, and adds it to the current RequestTrace.
+ * Picked up automatically by the MyBatis starter because it is a bean. For cursor queries only the time to open the cursor is measured;
+ * with the BATCH executor an update is only queued, so the time is spent in the flush.
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>(); // Avoids a registry lookup per statement
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = invocation.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer(ms, outcome).record(elapsed, TimeUnit.NANOSECONDS);
+            RequestTrace trace = RequestTrace.current();
+            if (trace != null) {
+                trace.addSql(ms.getId(), elapsed);
+            }
+        }
+    }
+
+    private Timer timer(MappedStatement ms, String outcome) {
+        String key = ms.getId() + '|' + outcome;
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> Timer.builder("mybatis.sql")
+                    .description("Latency of MyBatis mapper statements")
+                    .tag("statement", ms.getId())
+                    .tag("command", ms.getSqlCommandType().name().toLowerCase(Locale.ROOT))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,91 @@
+package com.maojie.interceptors;
+
+import com.maojie.config.TraceConfig;
+import com.maojie.utils.RequestTrace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: Outermost interceptor that times every controller method. Records an "http.handler" timer per handler and status, and an
+ * "http.handler.phase" timer per handler split into auth (LoginInterceptor: token cache, Redis, JWT), sql (all mapper statements) and
+ * service (the rest: controller, service logic and response serialization). Both publish percentile histograms so p99 can be attributed
+ * to a phase. Requests above the configured threshold are logged as one key=value line.
+ */
+@Slf4j
+@Component
+public class TraceInterceptor implements HandlerInterceptor {
+
+    private final TraceConfig config;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public TraceInterceptor(TraceConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (config.isEnabled() && handler instanceof HandlerMethod) {
+            RequestTrace.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, @Nullable Exception ex) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null) {
+            return;
+        }
+        RequestTrace.end();
+        long total = System.nanoTime() - trace.getStartNanos();
+        long service = Math.max(0, total - trace.getAuthNanos() - trace.getSqlNanos());
+        HandlerMethod method = (HandlerMethod) handler;
+        String name = method.getBeanType().getSimpleName() + "#" + method.getMethod().getName();
+        String status = String.valueOf(response.getStatus());
+
+        timer("http.handler", name, "status", status).record(total, TimeUnit.NANOSECONDS);
+        timer("http.handler.phase", name, "phase", "auth").record(trace.getAuthNanos(), TimeUnit.NANOSECONDS);
+        timer("http.handler.phase", name, "phase", "sql").record(trace.getSqlNanos(), TimeUnit.NANOSECONDS);
+        timer("http.handler.phase", name, "phase", "service").record(service, TimeUnit.NANOSECONDS);
+
+        if (TimeUnit.NANOSECONDS.toMillis(total) >= config.getSlowThresholdMs()) {
+            log.warn("slow_request handler={} method={} uri={} status={} total_ms={} auth_ms={} service_ms={} sql_ms={} sql_count={} slowest_sql={} slowest_sql_ms={} error={}",
+                    name, request.getMethod(), request.getRequestURI(), status,
+                    millis(total), millis(trace.getAuthNanos()), millis(service), millis(trace.getSqlNanos()),
+                    trace.getSqlCount(), trace.getSlowestSql(), millis(trace.getSlowestSqlNanos()),
+                    ex == null ? null : ex.getClass().getSimpleName());
+        }
+    }
+
+    private Timer timer(String metric, String handler, String tagKey, String tagValue) {
+        String key = metric + '|' + handler + '|' + tagValue;
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> Timer.builder(metric)
+                    .tag("handler", handler)
+                    .tag(tagKey, tagValue)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -1,8 +1,15 @@
 package com.maojie.mapper;
 
 import com.maojie.pojo.Article;
+import com.maojie.pojo.ArticleSummary;
+import com.maojie.pojo.PageCursor;
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -17,16 +24,31 @@ public interface ArticleMapper {
      */
     @Insert("INSERT INTO article (title, content, cover_img, state, category_id, create_user, create_time, update_time) " +
             "VALUES (#{title}, #{content}, #{coverImg}, #{state}, #{categoryId}, #{createUser}, #{createTime}, #{updateTime})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
     void add(Article article);
 
     /**
-     * @Description: Retrieves a list of articles filtered by user ID, category ID, and state
+     * @Description: Retrieves a list of article summaries (without content) filtered by user ID, category ID, and state
      * @Param: userId - ID of the user who created the article; categoryId - ID of the article's category; state - State of the article (e.g., published, draft)
-     * @return: List<Article> - A list of articles matching the specified criteria
+     * @return: List<ArticleSummary> - A list of article summaries matching the specified criteria
      * @Author: Maojie Xu
      * @Date: 10/24/2024
      */
-    List<Article> list(Integer userId, Integer categoryId, String state);
+    List<ArticleSummary> list(Integer userId, Integer categoryId, String state);
+
+    /**
+     * @Description: Retrieves one keyset page of article summaries ordered by update time and ID (newest first), starting after the given cursor
+     * @Param: userId - ID of the user who created the article; categoryId - Optional category filter; state - Optional state filter; cursor - Position of the last row on the previous page, null for the first page; limit - Maximum number of rows to return
+     * @return: List<ArticleSummary> - Article summaries following the cursor position
+     */
+    List<ArticleSummary> listAfter(Integer userId, Integer categoryId, String state, PageCursor cursor, Integer limit);
+
+    /**
+     * @Description: Counts the articles matching the same filters as list
+     * @Param: userId - ID of the user who created the article; categoryId - Optional category filter; state - Optional state filter
+     * @return: long - Number of matching articles
+     */
+    long count(Integer userId, Integer categoryId, String state);
 
     /**
      * @Description: Updates an existing article record in the database
@@ -57,4 +79,51 @@ public interface ArticleMapper {
      */
     @Delete("DELETE FROM article WHERE id=#{id}")
     void delete(Integer id);
+
+    /**
+     * @Description: Returns which of the given article IDs exist and belong to the user
+     * @Param: userId - ID of the owner; ids - Candidate article IDs (must not be empty)
+     * @return: List<Integer> - IDs owned by the user
+     */
+    List<Integer> findOwnedIds(Integer userId, Collection<Integer> ids);
+
+    /**
+     * @Description: Retrieves several articles by ID in one query
+     * @Param: ids - Article IDs (must not be empty)
+     * @return: List<Article> - The articles found, in no particular order
+     */
+    List<Article> findByIds(Collection<Integer> ids);
+
+    /**
+     * @Description: Changes the state of several articles of a user with a single UPDATE
+     * @Param: userId - ID of the owner; ids - Article IDs (must not be empty); state - New state; updateTime - New update timestamp
+     * @return: int - Number of updated rows
+     */
+    int updateStateByIds(Integer userId, Collection<Integer> ids, String state, LocalDateTime updateTime);
+
+    /**
+     * @Description: Deletes several articles of a user with a single DELETE
+     * @Param: userId - ID of the owner; ids - Article IDs (must not be empty)
+     * @return: int - Number of deleted rows
+     */
+    int deleteByIds(Integer userId, Collection<Integer> ids);
+
+    /**
+     * @Description: Streams every article to the handler, row by row (fetchSize Integer.MIN_VALUE makes MySQL Connector/J stream the result set)
+     * @Param: handler - Receives each article as it is read
+     * @return: void
+     */
+    @Select("SELECT * FROM article")
+    @Options(fetchSize = Integer.MIN_VALUE, resultSetType = ResultSetType.FORWARD_ONLY)
+    @ResultType(Article.class)
+    void scanAll(ResultHandler<Article> handler);
+
+    /**
+     * @Description: Opens a streaming cursor over one user's articles in ID order. Must be consumed inside the transaction that opened it.
+     * @Param: userId - ID of the user whose articles are streamed
+     * @return: Cursor<Article> - Lazily fetched articles
+     */
+    @Select("SELECT * FROM article WHERE create_user = #{userId} ORDER BY id")
+    @Options(fetchSize = Integer.MIN_VALUE, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<Article> streamByUser(Integer userId);
 }
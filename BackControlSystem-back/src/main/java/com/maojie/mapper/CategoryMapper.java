@@ -17,6 +17,7 @@ public interface CategoryMapper {
      */
     @Insert("INSERT INTO category (category_name, category_alias, create_user, create_time, update_time) " +
             "VALUES (#{categoryName}, #{categoryAlias}, #{createUser}, #{createTime}, #{updateTime})")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
     void add(Category category);
 
     /**
@@ -0,0 +1,50 @@
+package com.maojie.mapper;
+
+import com.maojie.pojo.DomainEvent;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface EventOutboxMapper {
+
+    /**
+     * @Description: Inserts events into the outbox with a single multi-row INSERT and sets their generated IDs
+     * @Param: events - Events to insert
+     * @return: void
+     */
+    void insertAll(@Param("events") List<DomainEvent> events);
+
+    /**
+     * @Description: Marks events as delivered with a single UPDATE
+     * @Param: ids - Outbox row IDs; processedAt - Delivery time
+     * @return: void
+     */
+    void markProcessed(Collection<Long> ids, LocalDateTime processedAt);
+
+    /**
+     * @Description: Counts a failed delivery attempt for each event with a single UPDATE
+     * @Param: ids - Outbox row IDs
+     * @return: void
+     */
+    void markFailed(Collection<Long> ids);
+
+    /**
+     * @Description: Finds undelivered events that are old enough to be considered lost and still have attempts left
+     * @Param: createdBefore - Only events created before this time; maxAttempts - Only events with fewer failed attempts; limit - Maximum number of rows
+     * @return: List<DomainEvent> - Pending events, oldest first
+     */
+    @Select("SELECT id, event_type AS type, aggregate_id, user_id, created_at, attempts FROM event_outbox " +
+            "WHERE processed_at IS NULL AND created_at < #{createdBefore} AND attempts < #{maxAttempts} ORDER BY id LIMIT #{limit}")
+    List<DomainEvent> findPending(LocalDateTime createdBefore, Integer maxAttempts, Integer limit);
+
+    /**
+     * @Description: Deletes delivered events processed before the given time
+     * @Param: processedBefore - Retention cutoff; limit - Maximum number of rows deleted
+     * @return: int - Number of rows deleted
+     */
+    @Delete("DELETE FROM event_outbox WHERE processed_at < #{processedBefore} LIMIT #{limit}")
+    int purge(LocalDateTime processedBefore, Integer limit);
+}
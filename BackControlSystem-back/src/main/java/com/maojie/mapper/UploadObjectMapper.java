@@ -0,0 +1,60 @@
+package com.maojie.mapper;
+
+import com.maojie.pojo.UploadObject;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface UploadObjectMapper {
+
+    /**
+     * @Description: Looks up the stored object with the given content digest
+     * @Param: digest - Hex SHA-256 of the content
+     * @return: String - URL of the stored object, or null if the content has not been uploaded before
+     */
+    @Select("SELECT url FROM upload_object WHERE digest = #{digest}")
+    String findUrl(String digest);
+
+    /**
+     * @Description: Counts one more upload of already stored content
+     * @Param: digest - Hex SHA-256 of the content; now - Upload time
+     * @return: int - Number of rows updated
+     */
+    @Update("UPDATE upload_object SET ref_count = ref_count + 1, update_time = #{now} WHERE digest = #{digest}")
+    int addReference(@Param("digest") String digest, @Param("now") LocalDateTime now);
+
+    /**
+     * @Description: Records a newly stored object, or counts one more upload if a concurrent request stored the same content first
+     * @Param: digest - Hex SHA-256 of the content; objectName - Name of the stored object; url - URL of the stored object; size - Size in bytes; now - Upload time
+     * @return: void
+     */
+    @Insert("INSERT INTO upload_object (digest, object_name, url, size, ref_count, create_time, update_time) " +
+            "VALUES (#{digest}, #{objectName}, #{url}, #{size}, 1, #{now}, #{now}) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, update_time = VALUES(update_time)")
+    void add(@Param("digest") String digest, @Param("objectName") String objectName, @Param("url") String url,
+             @Param("size") long size, @Param("now") LocalDateTime now);
+
+    /**
+     * @Description: Records which resized variants were stored for an uploaded image
+     * @Param: digest - Hex SHA-256 of the content; variantWidths - Comma-separated widths of the stored variants
+     * @return: int - Number of rows updated
+     */
+    @Update("UPDATE upload_object SET variant_widths = #{variantWidths} WHERE digest = #{digest}")
+    int setVariantWidths(@Param("digest") String digest, @Param("variantWidths") String variantWidths);
+
+    /**
+     * @Description: Looks up the stored variants of several uploads in one query
+     * @Param: digests - Hex SHA-256 digests (must not be empty)
+     * @return: List<UploadObject> - Digest and variant widths of the uploads that have variants, in no particular order
+     */
+    @Select("<script>SELECT digest, variant_widths FROM upload_object WHERE variant_widths IS NOT NULL AND digest IN " +
+            "<foreach collection='digests' item='digest' open='(' separator=',' close=')'>#{digest}</foreach></script>")
+    List<UploadObject> findVariants(@Param("digests") Collection<String> digests);
+}
@@ -19,6 +19,14 @@ public interface UserMapper {
     @Select("SELECT * FROM user WHERE username = #{username}")
     User findByUserName(String username);
 
+    /**
+     * @Description: Retrieves a user by their ID
+     * @Param: id - The ID of the user to retrieve
+     * @return: User - User object corresponding to the specified ID
+     */
+    @Select("SELECT * FROM user WHERE id = #{id}")
+    User findById(Integer id);
+
     /**
      * @Description: Inserts a new user record into the database with the specified username and password
      * @Param: username - The username of the new user; password - The password of the new user
@@ -52,11 +60,11 @@ public interface UserMapper {
 
     /**
      * @Description: Updates the user's password
-     * @Param: md5String - New password in MD5 format; id - ID of the user
+     * @Param: passwordHash - New password hash; id - ID of the user
      * @return: void
      * @Author: Maojie Xu
      * @Date: 10/24/2024
      */
-    @Update("UPDATE user SET password=#{md5String}, update_time=NOW() WHERE id=#{id}")
-    void updatePwd(String md5String, Integer id);
+    @Update("UPDATE user SET password=#{passwordHash}, update_time=NOW() WHERE id=#{id}")
+    void updatePwd(String passwordHash, Integer id);
 }
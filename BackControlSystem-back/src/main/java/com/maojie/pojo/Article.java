@@ -1,5 +1,6 @@
 package com.maojie.pojo;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.maojie.anno.State;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -8,9 +9,10 @@ import lombok.Data;
 import org.hibernate.validator.constraints.URL;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
-public class Article {
+public class Article implements CoverImageHolder {
 
     private Integer id; // Primary key ID
 
@@ -36,4 +38,7 @@ public class Article {
     private LocalDateTime createTime; // Timestamp for when the article was created
 
     private LocalDateTime updateTime; // Timestamp for when the article was last updated
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Map<String, String> coverVariants; // URLs of the stored resized cover variants keyed by width ("w160", "w480"), null if there are none; set by the service layer, never read from requests
 }
@@ -0,0 +1,20 @@
+package com.maojie.pojo;
+
+import com.maojie.anno.State;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @Description: Request body for changing the publish state of many articles at once.
+ */
+@Data
+public class ArticleBatchState {
+
+    @NotEmpty
+    private List<Integer> ids; // IDs of the articles to change
+
+    @State
+    private String state; // New publish state, either "published" or "draft"
+}
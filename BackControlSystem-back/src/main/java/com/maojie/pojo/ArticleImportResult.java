@@ -0,0 +1,19 @@
+package com.maojie.pojo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description: Summary of an article import. Only the first few failures are listed in detail so the report stays small for huge files.
+ */
+@Data
+public class ArticleImportResult {
+
+    private int imported; // Number of articles inserted
+
+    private int failed; // Number of rows rejected
+
+    private List<BatchItemResult> errors = new ArrayList<>(); // Rejected rows; index is the 1-based row number in the file
+}
@@ -0,0 +1,33 @@
+package com.maojie.pojo;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * @Description: One ranked result of an article full-text search.
+ */
+@Data
+public class ArticleSearchHit implements CoverImageHolder {
+
+    private Integer id; // Primary key ID of the article
+
+    private String title; // Article title
+
+    private String coverImg; // Cover image URL
+
+    private String state; // Publish state, either "published" or "draft"
+
+    private Integer categoryId; // Category ID for the article
+
+    private LocalDateTime updateTime; // Timestamp for when the article was last updated
+
+    private double score; // Relevance score, higher is better
+
+    private String snippet; // HTML-escaped excerpt of the content with matched terms wrapped in <em>
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Map<String, String> coverVariants; // URLs of the stored resized cover variants keyed by width ("w160", "w480"), null if there are none; set by the service layer, never read from requests
+}
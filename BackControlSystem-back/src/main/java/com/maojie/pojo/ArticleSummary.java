@@ -0,0 +1,34 @@
+package com.maojie.pojo;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * @Description: Lightweight projection of an article used by list pages. It carries everything the management table shows
+ * but not the article content, which is only loaded by the detail endpoint.
+ */
+@Data
+public class ArticleSummary implements CoverImageHolder {
+
+    private Integer id; // Primary key ID
+
+    private String title; // Article title
+
+    private String coverImg; // Cover image URL
+
+    private String state; // Publish state, either "published" or "draft"
+
+    private Integer categoryId; // Category ID for the article
+
+    private Integer createUser; // ID of the user who created the article
+
+    private LocalDateTime createTime; // Timestamp for when the article was created
+
+    private LocalDateTime updateTime; // Timestamp for when the article was last updated
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Map<String, String> coverVariants; // URLs of the stored resized cover variants keyed by width ("w160", "w480"), null if there are none; set by the service layer, never read from requests
+}
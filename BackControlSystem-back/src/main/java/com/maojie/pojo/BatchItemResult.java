@@ -0,0 +1,30 @@
+package com.maojie.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @Description: Outcome of one item of a batch operation, reported in the order the items were submitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+
+    private Integer index; // Position of the item in the request
+
+    private Integer id; // ID of the affected row, null if the item failed before it had one
+
+    private boolean success; // Whether the item was applied
+
+    private String message; // Failure reason, null on success
+
+    public static BatchItemResult ok(Integer index, Integer id) {
+        return new BatchItemResult(index, id, true, null);
+    }
+
+    public static BatchItemResult failed(Integer index, Integer id, String message) {
+        return new BatchItemResult(index, id, false, message);
+    }
+}
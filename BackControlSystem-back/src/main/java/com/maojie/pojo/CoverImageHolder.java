@@ -0,0 +1,13 @@
+package com.maojie.pojo;
+
+import java.util.Map;
+
+/**
+ * @Description: A response object with a cover image whose resized variants are attached by the service layer.
+ */
+public interface CoverImageHolder {
+
+    String getCoverImg();
+
+    void setCoverVariants(Map<String, String> coverVariants);
+}
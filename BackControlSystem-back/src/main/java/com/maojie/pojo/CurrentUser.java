@@ -0,0 +1,67 @@
+package com.maojie.pojo;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * @Description: Typed identity of the logged-in user, built once from the token claims by LoginInterceptor. The ID and username are immutable,
+ * so the claims-only instance is shared through the token cache. Each request gets its own copy from withLoader(); that copy is confined to the
+ * request thread and lazily caches the full User row in an unsynchronized field on first access to getUser().
+ */
+public final class CurrentUser {
+
+    private final Integer id; // ID of the logged-in user
+
+    private final String username; // Username of the logged-in user
+
+    private final Function<Integer, User> loader; // Loads the user row by ID, null for identities not bound to a request
+
+    private User user; // Lazily loaded user row; only set on request-confined copies, so no synchronization is needed
+
+    public CurrentUser(Integer id, String username) {
+        this(id, username, null);
+    }
+
+    private CurrentUser(Integer id, String username, Function<Integer, User> loader) {
+        this.id = id;
+        this.username = username;
+        this.loader = loader;
+    }
+
+    /**
+     * @Description: Builds the identity from the claims embedded in a token.
+     * @Param: claims - Claims map with "id" and "username"
+     * @return: CurrentUser - Identity without a user loader
+     */
+    public static CurrentUser fromClaims(Map<String, Object> claims) {
+        return new CurrentUser((Integer) claims.get("id"), (String) claims.get("username"));
+    }
+
+    /**
+     * @Description: Returns a copy of this identity bound to the current request, able to lazily load the user row.
+     * @Param: loader - Loads a user by ID
+     * @return: CurrentUser - Request-scoped copy
+     */
+    public CurrentUser withLoader(Function<Integer, User> loader) {
+        return new CurrentUser(id, username, loader);
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * @Description: Returns the full user row, loading it on first access.
+     * @return: User - The logged-in user, or null if no loader is bound
+     */
+    public User getUser() {
+        if (user == null && loader != null) {
+            user = loader.apply(id);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,35 @@
+package com.maojie.pojo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @Description: A content change, written to the event_outbox table in the transaction that made the change and
+ * dispatched to the event handlers once that transaction has committed.
+ */
+@Data
+@NoArgsConstructor
+public class DomainEvent {
+
+    private Long id; // Outbox row ID, assigned on insert
+
+    private EventType type; // What happened
+
+    private Integer aggregateId; // ID of the changed article, category or user
+
+    private Integer userId; // ID of the user who made the change
+
+    private LocalDateTime createdAt; // When the change was made
+
+    private Integer attempts; // Failed dispatch attempts so far
+
+    public DomainEvent(EventType type, Integer aggregateId, Integer userId) {
+        this.type = type;
+        this.aggregateId = aggregateId;
+        this.userId = userId;
+        this.createdAt = LocalDateTime.now();
+        this.attempts = 0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.maojie.pojo;
+
+/**
+ * @Description: Kinds of domain events recorded for content changes. The name is stored in the event_outbox table.
+ */
+public enum EventType {
+
+    ARTICLE_CREATED,
+    ARTICLE_UPDATED,
+    ARTICLE_DELETED,
+    CATEGORY_CREATED,
+    CATEGORY_UPDATED,
+    CATEGORY_DELETED,
+    USER_REGISTERED,
+    USER_UPDATED,
+    USER_AVATAR_UPDATED,
+    USER_PASSWORD_UPDATED;
+
+    /**
+     * @Description: Whether the event changes an article, i.e. affects the search index
+     * @Param: None
+     * @return: boolean - True for the ARTICLE_* types
+     */
+    public boolean isArticle() {
+        return this == ARTICLE_CREATED || this == ARTICLE_UPDATED || this == ARTICLE_DELETED;
+    }
+}
@@ -8,6 +8,7 @@ import java.util.List;
 
 /**
  * @Description: Pagination result object that holds the total count and a list of items for the current page.
+ * In keyset (cursor) mode the total is only filled when requested and nextCursor points at the following page.
  */
 @Data
 @NoArgsConstructor
@@ -17,4 +18,6 @@ public class PageBean<T> {
     private Long total; // Total number of items across all pages
 
     private List<T> items; // List of items for the current page
+
+    private String nextCursor; // Opaque cursor for the next page in keyset mode, null when there are no more items
 }
@@ -0,0 +1,53 @@
+package com.maojie.pojo;
+
+import com.maojie.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * @Description: Position of the last row returned by a keyset (seek) page, ordered by (update_time, id) descending.
+ * The cursor is handed to clients as an opaque URL-safe Base64 string.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCursor {
+
+    private LocalDateTime updateTime; // update_time of the last row on the previous page
+
+    private Integer id; // id of the last row on the previous page, breaks ties on update_time
+
+    /**
+     * @Description: Encodes the cursor into an opaque string that can be passed back by the client.
+     * @return: String - URL-safe Base64 representation of the cursor
+     */
+    public String encode() {
+        String raw = updateTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @Description: Decodes a cursor previously produced by encode().
+     * @Param: cursor - Opaque cursor string; null or empty means the first page
+     * @return: PageCursor - Decoded cursor, or null for the first page
+     * @throws BadRequestException - If the cursor is malformed
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, sep)), Integer.valueOf(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.maojie.pojo;
+
+import com.maojie.exception.BadRequestException;
+import lombok.Getter;
+
+/**
+ * @Description: File formats supported by article import and export.
+ */
+@Getter
+public enum TransferFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"), // One JSON object per line
+    CSV("text/csv", "csv"); // RFC 4180 with a header row
+
+    private final String contentType;
+
+    private final String extension;
+
+    TransferFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * @Description: Resolves a format from its name, case-insensitively.
+     * @Param: name - "ndjson" or "csv"
+     * @return: TransferFormat - The matching format
+     */
+    public static TransferFormat of(String name) {
+        for (TransferFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported format: " + name);
+    }
+}
@@ -0,0 +1,28 @@
+package com.maojie.pojo;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * @Description: A stored upload, identified by the SHA-256 of its content.
+ */
+@Data
+public class UploadObject {
+
+    private String digest; // Hex SHA-256 of the content, primary key
+
+    private String objectName; // Name of the stored object
+
+    private String url; // URL of the stored object
+
+    private Long size; // Size in bytes
+
+    private Integer refCount; // Number of uploads that resolved to this object
+
+    private String variantWidths; // Comma-separated widths of the stored image variants, or null if there are none
+
+    private LocalDateTime createTime; // Timestamp for when the object was first stored
+
+    private LocalDateTime updateTime; // Timestamp for when the object was last uploaded
+}
@@ -0,0 +1,27 @@
+package com.maojie.pojo;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * @Description: Request for a signed direct upload, describing the file the client is about to send.
+ */
+@Data
+public class UploadSignRequest {
+
+    @NotEmpty
+    @Pattern(regexp = "^[0-9a-f]{64}$")
+    private String digest; // Lower-case hex SHA-256 of the file content
+
+    @NotEmpty
+    private String filename; // Original file name, used for its extension
+
+    private String contentType; // MIME type the client will send, defaults to application/octet-stream
+
+    @NotNull
+    @Positive
+    private Long size; // File size in bytes
+}
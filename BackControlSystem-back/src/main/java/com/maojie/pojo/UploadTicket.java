@@ -0,0 +1,28 @@
+package com.maojie.pojo;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * @Description: Answer to a direct upload request. Either the content is already stored (exists, url), or the client sends the file
+ * with the given method, URL and headers and then reports completion with the object name.
+ */
+@Data
+public class UploadTicket {
+
+    private boolean exists; // Whether identical content is already stored, in which case url is set and nothing needs uploading
+
+    private String url; // URL of the already stored content
+
+    private String objectName; // Name of the object to upload, passed back on completion
+
+    private String method; // HTTP method of the upload request
+
+    private String uploadUrl; // Signed URL to send the file to
+
+    private Map<String, String> headers; // Headers the upload request must carry exactly, as they are covered by the signature
+
+    private Instant expiresAt; // Time after which the signed URL is rejected
+}
@@ -0,0 +1,97 @@
+package com.maojie.ratelimit;
+
+import com.maojie.config.ConcurrencyLimitConfig;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Description: Concurrency limit for one bulkhead. Admission is a lock-free check of in-flight requests against the current limit.
+ * An adaptive limiter adjusts the limit with a gradient algorithm (after Netflix's Gradient2): it keeps a long-term moving average of
+ * handler latency and compares every sample against it. While latency stays within rttTolerance of the average the limit grows by about
+ * sqrt(limit) per sample (smoothed), probing for headroom; once requests start queueing on Tomcat or the connection pool latency rises,
+ * the gradient drops below 1 and the limit shrinks proportionally, so excess requests are rejected at once instead of queueing.
+ */
+public class ConcurrencyLimiter {
+
+    private final ConcurrencyLimitConfig.Bulkhead config;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    private double estimatedLimit; // unrounded limit, guarded by this
+
+    private double longRtt; // moving average of latency in nanoseconds, guarded by this
+
+    public ConcurrencyLimiter(ConcurrencyLimitConfig.Bulkhead config) {
+        this.config = config;
+        this.limit = config.getInitialLimit();
+        this.estimatedLimit = config.getInitialLimit();
+    }
+
+    /**
+     * @Description: Admits a request if the bulkhead is below its limit; every successful call must be paired with release.
+     * @Param: None
+     * @return: boolean - False if the request should be shed
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @Description: Ends an admitted request and, for adaptive limiters, feeds its latency into the limit.
+     * @Param: rttNanos - Handler latency, or a negative value to release without sampling (e.g. the request failed)
+     * @return: void
+     */
+    public void release(long rttNanos) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        if (config.isAdaptive() && rttNanos > 0) {
+            sample(rttNanos, inFlightAtEnd);
+        }
+    }
+
+    private synchronized void sample(long rtt, int inFlightAtEnd) {
+        if (longRtt == 0) {
+            longRtt = rtt;
+        } else {
+            longRtt += (rtt - longRtt) / config.getLongWindow();
+        }
+        if (longRtt / rtt > 2) {
+            // latency fell well below the long-term average, e.g. after a spike: let the average catch up faster
+            longRtt *= 0.95;
+        }
+        if (inFlightAtEnd < estimatedLimit / 2) {
+            // the limit is not what constrains throughput, so latency says nothing about it
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, config.getRttTolerance() * longRtt / rtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - config.getSmoothing()) + newLimit * config.getSmoothing();
+        estimatedLimit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * @Description: Current concurrency limit.
+     * @return: int - Limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @Description: Number of admitted requests that have not been released.
+     * @return: int - In-flight count
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
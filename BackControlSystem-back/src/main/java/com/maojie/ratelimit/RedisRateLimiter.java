@@ -0,0 +1,50 @@
+package com.maojie.ratelimit;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Description: Cluster-wide rate limiter running the same GCRA as LocalRateLimiter inside Redis. The script reads the bucket, decides and writes
+ * it back atomically in one round trip, and uses the Redis clock so nodes with skewed clocks agree. Buckets expire when they would be full.
+ */
+@Component
+public class RedisRateLimiter {
+
+    private static final String KEY_PREFIX = "rate:";
+
+    // KEYS[1] bucket, ARGV[1] microseconds per permit, ARGV[2] burst tolerance in microseconds; returns microseconds to wait, 0 if allowed
+    private static final RedisScript<Long> GCRA = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000000 + tonumber(t[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+            if tat < now then tat = now end
+            local next = tat + tonumber(ARGV[1])
+            local wait = next - now - tonumber(ARGV[2])
+            if wait > 0 then return wait end
+            redis.call('SET', KEYS[1], string.format('%.0f', next), 'PX', math.ceil((next - now) / 1000))
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public RedisRateLimiter(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    /**
+     * @Description: Takes one permit from a bucket shared by all nodes.
+     * @Param: key - Bucket key; permitsPerSecond - Sustained rate; burst - Bucket capacity
+     * @return: long - 0 if the request is allowed, otherwise the nanoseconds until a permit becomes available
+     */
+    public long tryAcquire(String key, double permitsPerSecond, int burst) {
+        long interval = (long) (1_000_000L / permitsPerSecond);
+        long tolerance = interval * Math.max(1, burst);
+        Long wait = stringRedisTemplate.execute(GCRA, List.of(KEY_PREFIX + key), Long.toString(interval), Long.toString(tolerance));
+        return wait == null ? 0 : TimeUnit.MICROSECONDS.toNanos(wait);
+    }
+}
@@ -0,0 +1,82 @@
+package com.maojie.search;
+
+import com.maojie.event.DomainEventHandler;
+import com.maojie.mapper.ArticleMapper;
+import com.maojie.pojo.Article;
+import com.maojie.pojo.DomainEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @Description: Keeps the article search index in step with article changes, off the request thread. Each batch is reduced to the
+ * set of touched article IDs, which are re-read with one query: rows that still exist are (re)indexed and the rest removed.
+ * Re-reading instead of trusting the event order makes the handler idempotent and safe for redelivered events.
+ * The index lives in each node's memory but an event is handled only by the node that wrote it, so the touched IDs are also
+ * broadcast on a Redis channel and every node re-reads them into its own index (the sending node does so twice, harmlessly).
+ */
+@Component
+public class ArticleSearchEventHandler implements DomainEventHandler {
+
+    /**
+     * Redis pub/sub channel carrying the comma-separated IDs of articles whose search entries must be refreshed.
+     */
+    public static final String CHANGED_CHANNEL = "article:search:changed";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+    @Autowired
+    private ArticleMapper articleMapper;
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        Set<Integer> ids = new HashSet<>();
+        for (DomainEvent event : events) {
+            if (event.getType().isArticle() && event.getAggregateId() != null) {
+                ids.add(event.getAggregateId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        String message = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        refresh(ids);
+        stringRedisTemplate.convertAndSend(CHANGED_CHANNEL, message);
+    }
+
+    /**
+     * @Description: Refreshes articles changed on another node; called for messages received from the channel.
+     * @Param: message - Comma-separated article IDs
+     * @return: void
+     */
+    public void refreshLocal(String message) {
+        Set<Integer> ids = new HashSet<>();
+        for (String id : message.split(",")) {
+            ids.add(Integer.valueOf(id));
+        }
+        refresh(ids);
+    }
+
+    /**
+     * @Description: Re-reads the given articles and applies their current state to the index: rows that still exist are (re)indexed and the rest removed.
+     * @Param: ids - IDs of the articles to refresh; the set is modified
+     * @return: void
+     */
+    public void refresh(Set<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (Article article : articleMapper.findByIds(ids)) {
+            articleSearchIndex.index(article);
+            ids.remove(article.getId());
+        }
+        ids.forEach(articleSearchIndex::remove);
+    }
+}
@@ -0,0 +1,395 @@
+package com.maojie.search;
+
+import com.maojie.pojo.Article;
+import com.maojie.pojo.ArticleSearchHit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * @Description: In-process inverted index over article titles and contents, ranked with BM25 (title matches weigh more than body matches).
+ * Latin text is split into lowercase words, CJK text into overlapping character bigrams so Chinese queries match without a dictionary.
+ * The index is partitioned by user: every user has their own postings and document statistics, so a query only touches the caller's
+ * articles and its ranking does not depend on other users' content. The index is kept in sync by ArticleSearchEventHandler, which consumes
+ * article events from the EventBus and the changes other nodes broadcast over Redis, and rebuilt from MySQL on startup by ArticleSearchIndexInitializer: the rebuild fills a separate index
+ * that replaces this one's contents when complete, and the IDs changed meanwhile are re-read afterwards.
+ */
+@Component
+public class ArticleSearchIndex {
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    private static final int TITLE_BOOST = 3;
+
+    private static final int SNIPPET_LENGTH = 160;
+
+    private Map<Integer, Doc> docs = new HashMap<>(); // all articles by ID, to find the partition of an article on update or removal
+
+    private Map<Integer, Partition> partitions = new HashMap<>(); // by user ID
+
+    private Set<Integer> touchedDuringRebuild; // IDs indexed or removed since beginRebuild, null when no rebuild is running
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @Description: Adds an article to the index or replaces its previous version. Versions older than the indexed one are ignored,
+     * so a rebuild racing with a concurrent update cannot bring back stale text.
+     * @Param: article - Article with ID, creator, title and content
+     * @return: void
+     */
+    public void index(Article article) {
+        String text = plainText(article.getContent());
+        List<String> titleTerms = tokenize(article.getTitle());
+        List<String> bodyTerms = tokenize(text);
+        Map<String, Posting> terms = new HashMap<>();
+        for (String t : titleTerms) {
+            terms.computeIfAbsent(t, k -> new Posting()).titleTf++;
+        }
+        for (String t : bodyTerms) {
+            terms.computeIfAbsent(t, k -> new Posting()).bodyTf++;
+        }
+        Doc doc = new Doc(article, text, bodyTerms.size() + TITLE_BOOST * titleTerms.size(), terms.keySet());
+
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.get(article.getId());
+            if (old != null && old.updateTime != null && doc.updateTime != null && doc.updateTime.isBefore(old.updateTime)) {
+                return;
+            }
+            removeLocked(article.getId());
+            touched(doc.id);
+            docs.put(doc.id, doc);
+            Partition partition = partitions.computeIfAbsent(doc.userId, k -> new Partition());
+            partition.size++;
+            partition.totalLength += doc.length;
+            terms.forEach((term, posting) -> partition.postings.computeIfAbsent(term, k -> new HashMap<>()).put(doc.id, posting));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @Description: Removes an article from the index.
+     * @Param: id - ID of the article
+     * @return: void
+     */
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            touched(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @Description: Starts recording the IDs of articles indexed or removed from now on, for a rebuild that is filled off to the side.
+     * The index keeps serving searches and applying changes until replaceWith swaps the rebuilt contents in.
+     * @return: void
+     */
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @Description: Replaces the contents of this index with a rebuilt index and stops recording changes. The rebuilt index may be missing
+     * changes applied here while it was filled, so the caller must re-read the returned articles from the database and apply them again.
+     * @Param: rebuilt - Index filled by the rebuild; it must not be used afterwards
+     * @return: Set<Integer> - IDs of the articles indexed or removed since beginRebuild
+     */
+    public Set<Integer> replaceWith(ArticleSearchIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            docs = rebuilt.docs;
+            partitions = rebuilt.partitions;
+            Set<Integer> touched = touchedDuringRebuild == null ? Set.of() : touchedDuringRebuild;
+            touchedDuringRebuild = null;
+            return touched;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @Description: Number of indexed articles.
+     * @return: int - Document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @Description: Searches the articles of one user and returns the best matches with highlighted snippets.
+     * @Param: userId - ID of the user whose articles are searched; query - Free-text query; limit - Maximum number of hits
+     * @return: List<ArticleSearchHit> - Hits ordered by descending score
+     */
+    public List<ArticleSearchHit> search(Integer userId, String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<ArticleSearchHit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Partition partition = partitions.get(userId);
+            if (partition == null) {
+                return hits;
+            }
+            int n = partition.size;
+            double avgLength = (double) partition.totalLength / n;
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Integer, Posting> ps = partition.postings.get(term);
+                if (ps == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (n - ps.size() + 0.5) / (ps.size() + 0.5));
+                for (Map.Entry<Integer, Posting> e : ps.entrySet()) {
+                    Doc doc = docs.get(e.getKey());
+                    double tf = e.getValue().bodyTf + TITLE_BOOST * e.getValue().titleTf;
+                    double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * doc.length / avgLength));
+                    scores.merge(doc.id, score, Double::sum);
+                }
+            }
+            scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .forEach(e -> hits.add(toHit(docs.get(e.getKey()), e.getValue(), terms)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return hits;
+    }
+
+    private void touched(Integer id) {
+        if (touchedDuringRebuild != null) {
+            touchedDuringRebuild.add(id);
+        }
+    }
+
+    private void removeLocked(Integer id) {
+        Doc old = docs.remove(id);
+        if (old == null) {
+            return;
+        }
+        Partition partition = partitions.get(old.userId);
+        if (--partition.size == 0) {
+            partitions.remove(old.userId);
+            return;
+        }
+        partition.totalLength -= old.length;
+        for (String term : old.terms) {
+            Map<Integer, Posting> ps = partition.postings.get(term);
+            if (ps != null) {
+                ps.remove(id);
+                if (ps.isEmpty()) {
+                    partition.postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static ArticleSearchHit toHit(Doc doc, double score, Set<String> terms) {
+        ArticleSearchHit hit = new ArticleSearchHit();
+        hit.setId(doc.id);
+        hit.setTitle(doc.title);
+        hit.setCoverImg(doc.coverImg);
+        hit.setState(doc.state);
+        hit.setCategoryId(doc.categoryId);
+        hit.setUpdateTime(doc.updateTime);
+        hit.setScore(score);
+        hit.setSnippet(snippet(doc.text, terms));
+        return hit;
+    }
+
+    /**
+     * @Description: Cuts a window of the plain text around the first matched term, HTML-escapes it and wraps matches in <em>.
+     * @Param: text - Plain article text; terms - Query terms
+     * @return: String - Highlighted snippet
+     */
+    static String snippet(String text, Set<String> terms) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        int first = -1;
+        for (String term : terms) {
+            int i = lower.indexOf(term);
+            if (i >= 0 && (first < 0 || i < first)) {
+                first = i;
+            }
+        }
+        int start = first < 0 ? 0 : Math.max(0, first - SNIPPET_LENGTH / 4);
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        StringBuilder sb = new StringBuilder(end - start + 32);
+        if (start > 0) {
+            sb.append("...");
+        }
+        int i = start;
+        while (i < end) {
+            String match = null;
+            for (String term : terms) {
+                if (lower.startsWith(term, i) && (match == null || term.length() > match.length())) {
+                    match = term;
+                }
+            }
+            if (match != null) {
+                int to = Math.min(end, i + match.length());
+                sb.append("<em>");
+                escape(text, i, to, sb);
+                sb.append("</em>");
+                i = to;
+            } else {
+                escape(text, i, i + 1, sb);
+                i++;
+            }
+        }
+        if (end < text.length()) {
+            sb.append("...");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @Description: Splits text into index terms: lowercase letter/digit runs, and bigrams for runs of CJK characters.
+     * @Param: text - Text to tokenize, may be null
+     * @return: List<String> - Terms in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String s = text.toLowerCase(Locale.ROOT);
+        int i = 0;
+        while (i < s.length()) {
+            int cp = s.codePointAt(i);
+            if (isCjk(cp)) {
+                int start = i;
+                while (i < s.length() && isCjk(s.codePointAt(i))) {
+                    i += Character.charCount(s.codePointAt(i));
+                }
+                int[] cps = s.substring(start, i).codePoints().toArray();
+                if (cps.length == 1) {
+                    terms.add(new String(cps, 0, 1));
+                }
+                for (int j = 0; j + 1 < cps.length; j++) {
+                    terms.add(new String(cps, j, 2));
+                }
+            } else if (Character.isLetterOrDigit(cp)) {
+                int start = i;
+                while (i < s.length() && Character.isLetterOrDigit(s.codePointAt(i)) && !isCjk(s.codePointAt(i))) {
+                    i += Character.charCount(s.codePointAt(i));
+                }
+                terms.add(s.substring(start, i));
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * @Description: Strips HTML tags from the rich-text content and decodes the common entities.
+     * @Param: html - Content as produced by the editor
+     * @return: String - Plain text with collapsed whitespace
+     */
+    static String plainText(String html) {
+        if (html == null) {
+            return "";
+        }
+        String text = html.replaceAll("<[^>]*>", " ")
+                .replace("&nbsp;", " ")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&amp;", "&");
+        return text.replaceAll("\\s+", " ").trim();
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder sb) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                default -> sb.append(c);
+            }
+        }
+    }
+
+    /**
+     * Term frequencies of one term in one article.
+     */
+    private static final class Posting {
+        int titleTf;
+        int bodyTf;
+    }
+
+    /**
+     * Postings and BM25 document statistics of one user's articles.
+     */
+    private static final class Partition {
+        final Map<String, Map<Integer, Posting>> postings = new HashMap<>();
+        int size;
+        long totalLength;
+    }
+
+    /**
+     * Indexed state of one article.
+     */
+    private static final class Doc {
+        final Integer id;
+        final Integer userId;
+        final String title;
+        final String coverImg;
+        final String state;
+        final Integer categoryId;
+        final LocalDateTime updateTime;
+        final String text;
+        final int length;
+        final Set<String> terms;
+
+        Doc(Article article, String text, int length, Set<String> terms) {
+            this.id = article.getId();
+            this.userId = article.getCreateUser();
+            this.title = article.getTitle();
+            this.coverImg = article.getCoverImg();
+            this.state = article.getState();
+            this.categoryId = article.getCategoryId();
+            this.updateTime = article.getUpdateTime();
+            this.text = text;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.maojie.search;
+
+import com.maojie.mapper.ArticleMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @Description: Rebuilds the article search index from MySQL when the application starts. Rows are streamed one at a time
+ * through a result handler into a separate index, so the whole table is never held in memory as a list and the live index keeps
+ * applying events meanwhile. A row read by the scan may be older than an event applied during it (e.g. a delete), so the articles
+ * changed during the scan are re-read once the rebuilt index is swapped in.
+ */
+@Slf4j
+@Component
+public class ArticleSearchIndexInitializer implements ApplicationRunner {
+
+    @Autowired
+    private ArticleMapper articleMapper;
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+    @Autowired
+    private ArticleSearchEventHandler articleSearchEventHandler;
+
+    /**
+     * @Description: Re-indexes every article off to the side, swaps the result in and re-applies the articles changed meanwhile.
+     * @Param: args - Application arguments, unused
+     * @return: void
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        ArticleSearchIndex rebuilt = new ArticleSearchIndex();
+        articleSearchIndex.beginRebuild();
+        articleMapper.scanAll(context -> rebuilt.index(context.getResultObject()));
+        Set<Integer> touched = articleSearchIndex.replaceWith(rebuilt);
+        articleSearchEventHandler.refresh(new HashSet<>(touched));
+        log.info("Indexed {} articles for search in {} ms", articleSearchIndex.size(), System.currentTimeMillis() - start);
+    }
+}
@@ -1,8 +1,14 @@
 package com.maojie.service;
 
 import com.maojie.pojo.Article;
+import com.maojie.pojo.ArticleBatchState;
+import com.maojie.pojo.ArticleSearchHit;
+import com.maojie.pojo.BatchItemResult;
+import com.maojie.pojo.ArticleSummary;
 import com.maojie.pojo.PageBean;
 
+import java.util.List;
+
 /**
  * @Description: Service interface for managing articles, providing methods to add, list, update, find, and delete articles.
  */
@@ -16,11 +22,18 @@ public interface ArticleService {
     void add(Article article);
 
     /**
-     * @Description: Retrieves a paginated list of articles filtered by category ID and state.
-     * @Param: pageNum - Current page number; pageSize - Number of items per page; categoryId - Optional category filter; state - Optional state filter
-     * @return: PageBean<Article> - Paginated list of articles with total item count
+     * @Description: Retrieves a paginated list of article summaries filtered by category ID and state.
+     * @Param: pageNum - Current page number; pageSize - Number of items per page; categoryId - Optional category filter; state - Optional state filter; count - Whether to run the total count query
+     * @return: PageBean<ArticleSummary> - Paginated list of article summaries with total item count (-1 when count is false)
+     */
+    PageBean<ArticleSummary> list(Integer pageNum, Integer pageSize, Integer categoryId, String state, boolean count);
+
+    /**
+     * @Description: Retrieves a keyset (seek) page of articles, newest first, starting after the given cursor. Cost does not grow with page depth.
+     * @Param: cursor - Opaque cursor from the previous page, null or empty for the first page; pageSize - Number of items per page; categoryId - Optional category filter; state - Optional state filter; count - Whether to also compute the total item count
+     * @return: PageBean<ArticleSummary> - Page of article summaries with the cursor for the next page, and the total count when requested
      */
-    PageBean<Article> list(Integer pageNum, Integer pageSize, Integer categoryId, String state);
+    PageBean<ArticleSummary> listByCursor(String cursor, Integer pageSize, Integer categoryId, String state, boolean count);
 
     /**
      * @Description: Updates an existing article with new details.
@@ -42,4 +55,32 @@ public interface ArticleService {
      * @return: void
      */
     void delete(Integer id);
+
+    /**
+     * @Description: Full-text search over the titles and contents of the current user's articles.
+     * @Param: query - Free-text query; limit - Maximum number of hits
+     * @return: List<ArticleSearchHit> - Ranked hits with highlighted snippets
+     */
+    List<ArticleSearchHit> search(String query, Integer limit);
+
+    /**
+     * @Description: Creates many articles in one transaction. Each article is validated on its own; valid ones are inserted as one JDBC batch.
+     * @Param: articles - Articles to create
+     * @return: List<BatchItemResult> - One result per submitted article, in order, with the new ID or the validation errors
+     */
+    List<BatchItemResult> addBatch(List<Article> articles);
+
+    /**
+     * @Description: Changes the publish state of many of the current user's articles with a single UPDATE.
+     * @Param: batchState - Article IDs and the new state
+     * @return: List<BatchItemResult> - One result per distinct ID, in order; IDs not owned by the user fail
+     */
+    List<BatchItemResult> updateStateBatch(ArticleBatchState batchState);
+
+    /**
+     * @Description: Deletes many of the current user's articles with a single DELETE.
+     * @Param: ids - IDs of the articles to delete
+     * @return: List<BatchItemResult> - One result per distinct ID, in order; IDs not owned by the user fail
+     */
+    List<BatchItemResult> deleteBatch(List<Integer> ids);
 }
@@ -0,0 +1,27 @@
+package com.maojie.service;
+
+import com.maojie.pojo.ArticleImportResult;
+import com.maojie.pojo.TransferFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ArticleTransferService {
+
+    /**
+     * @Description: Streams all of the current user's articles to the output without holding them in memory.
+     * @Param: format - Output format
+     * @Param: out - Destination stream, typically the HTTP response body
+     * @return: void
+     */
+    void export(TransferFormat format, OutputStream out) throws IOException;
+
+    /**
+     * @Description: Reads articles from the input row by row, validates each one and inserts the valid ones in batches for the current user.
+     * @Param: format - Input format
+     * @Param: in - Source stream, typically the HTTP request body
+     * @return: ArticleImportResult - Number of imported and rejected rows with the first rejection reasons
+     */
+    ArticleImportResult importArticles(TransferFormat format, InputStream in) throws IOException;
+}
@@ -0,0 +1,53 @@
+package com.maojie.service;
+
+import com.maojie.pojo.UploadTicket;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+
+/**
+ * @Description: Service interface for storing uploaded files. Implementations are selected with the "storage.type" property.
+ */
+public interface StorageService {
+
+    /**
+     * @Description: Stores a file under the given object name, streaming it from the input stream.
+     * @Param: objectName - Name of the stored object; in - InputStream of the file content; size - Size of the content in bytes, or -1 if unknown
+     * @return: String - Public URL of the stored file
+     * @throws IOException - If the file could not be stored
+     */
+    String store(String objectName, InputStream in, long size) throws IOException;
+
+    /**
+     * @Description: Returns the public URL of a stored object.
+     * @Param: objectName - Name of the stored object
+     * @return: String - Public URL of the object
+     */
+    String url(String objectName);
+
+    /**
+     * @Description: Opens a stored object for reading.
+     * @Param: objectName - Name of the stored object
+     * @return: InputStream - Content of the object, to be closed by the caller
+     * @throws java.nio.file.NoSuchFileException - If the object does not exist
+     * @throws IOException - If the object could not be read
+     */
+    InputStream open(String objectName) throws IOException;
+
+    /**
+     * @Description: Deletes a stored object; deleting an object that does not exist is not an error.
+     * @Param: objectName - Name of the stored object
+     * @return: void
+     * @throws IOException - If the object could not be deleted
+     */
+    void delete(String objectName) throws IOException;
+
+    /**
+     * @Description: Issues a signed request that lets a client upload the object directly to the storage backend until it expires,
+     * without the bytes passing through this application. The signed request cannot overwrite an existing object.
+     * @Param: objectName - Name of the object to create; contentType - Content type the client must send; expiresAt - Expiry of the signature
+     * @return: UploadTicket - Method, URL and headers of the upload request
+     */
+    UploadTicket presignUpload(String objectName, String contentType, Instant expiresAt);
+}
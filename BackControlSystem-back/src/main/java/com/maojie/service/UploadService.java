@@ -0,0 +1,43 @@
+package com.maojie.service;
+
+import com.maojie.pojo.CoverImageHolder;
+import com.maojie.pojo.UploadSignRequest;
+import com.maojie.pojo.UploadTicket;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.Collection;
+
+public interface UploadService {
+
+    /**
+     * @Description: Stores an uploaded file under a name derived from its content, so content that was uploaded before is not stored again.
+     * @Param: file - The uploaded file
+     * @return: String - URL of the stored file
+     * @throws IOException - If the file could not be read or stored
+     */
+    String upload(MultipartFile file) throws IOException;
+
+    /**
+     * @Description: Prepares a direct upload: returns the URL of identical content that is already stored, or a short-lived signed request
+     * with which the client sends the file straight to storage.
+     * @Param: request - Digest, name, content type and size of the file
+     * @return: UploadTicket - Existing URL or signed upload request
+     */
+    UploadTicket sign(UploadSignRequest request);
+
+    /**
+     * @Description: Records a directly uploaded object after checking that its content matches the digest in its name.
+     * @Param: objectName - Object name from the UploadTicket
+     * @return: String - URL of the stored file
+     * @throws IOException - If the object could not be read back
+     */
+    String complete(String objectName) throws IOException;
+
+    /**
+     * @Description: Sets the URLs of the resized cover variants that were actually stored, looked up for all items in one query.
+     * @Param: items - Items whose cover images are resolved
+     * @return: void
+     */
+    void attachCoverVariants(Collection<? extends CoverImageHolder> items);
+}
@@ -14,6 +14,13 @@ public interface UserService {
      */
     User findByUserName(String username);
 
+    /**
+     * @Description: Finds a user by their ID.
+     * @Param: id - The ID of the user to retrieve
+     * @return: User - User object corresponding to the specified ID
+     */
+    User findById(Integer id);
+
     /**
      * @Description: Registers a new user by saving the username and password.
      * @Param: username - Username for the new user; password - Password for the new user
@@ -21,6 +28,13 @@ public interface UserService {
      */
     void register(String username, String password);
 
+    /**
+     * @Description: Checks a password against the user's stored hash. Legacy MD5 hashes and hashes with an outdated cost are transparently rehashed on success.
+     * @Param: user - User whose password is checked; password - Raw password entered by the user
+     * @return: boolean - True if the password matches
+     */
+    boolean checkPassword(User user, String password);
+
     /**
      * @Description: Updates an existing user's profile information.
      * @Param: user - User object containing updated profile details
@@ -2,89 +2,316 @@ package com.maojie.service.impl;
 
 import com.github.pagehelper.Page;
 import com.github.pagehelper.PageHelper;
+import com.maojie.cache.ArticleCache;
+import com.maojie.cache.ListResponseCache;
+import com.maojie.event.EventBus;
+import com.maojie.exception.BadRequestException;
 import com.maojie.mapper.ArticleMapper;
 import com.maojie.pojo.Article;
+import com.maojie.pojo.ArticleBatchState;
+import com.maojie.pojo.ArticleSearchHit;
+import com.maojie.pojo.BatchItemResult;
+import com.maojie.pojo.ArticleSummary;
+import com.maojie.pojo.EventType;
 import com.maojie.pojo.PageBean;
+import com.maojie.pojo.PageCursor;
+import com.maojie.search.ArticleSearchIndex;
 import com.maojie.service.ArticleService;
+import com.maojie.service.UploadService;
 import com.maojie.utils.ThreadLocalUtil;
+import com.maojie.utils.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class ArticleServiceImpl implements ArticleService {
 
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
+    private static final int MAX_SEARCH_HITS = 100;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String ADD_STATEMENT = ArticleMapper.class.getName() + ".add";
+
     @Autowired
     private ArticleMapper articleMapper;
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+    @Autowired
+    private ArticleCache articleCache;
+    @Autowired
+    private ListResponseCache listResponseCache;
+    @Autowired
+    private EventBus eventBus;
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private UploadService uploadService;
+
+    private SqlSessionTemplate batchSqlSession; // BATCH executor: statements are queued and sent together on flush
+
+    @PostConstruct
+    public void init() {
+        batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    }
 
     /**
-     * @Description: Adds a new article to the database, setting the creation and update timestamps and the user ID of the creator.
+     * @Description: Adds a new article to the database, setting the creation and update timestamps and the user ID of the creator, and records an ARTICLE_CREATED event.
      * @Param: article - Article object containing details to be added
      * @return: void
      */
     @Override
+    @Transactional
     public void add(Article article) {
         article.setCreateTime(LocalDateTime.now());
         article.setUpdateTime(LocalDateTime.now());
 
-        Map<String, Object> map = ThreadLocalUtil.get();
-        Integer userId = (Integer) map.get("id");
+        Integer userId = ThreadLocalUtil.get().getId();
         article.setCreateUser(userId);
         articleMapper.add(article);
+        eventBus.publish(EventType.ARTICLE_CREATED, article.getId(), userId);
+        TransactionUtil.afterCommit(() -> listResponseCache.bump(userId));
     }
 
     /**
-     * @Description: Retrieves a paginated list of articles filtered by category ID and state, along with total item count.
-     * @Param: pageNum - Current page number; pageSize - Number of items per page; categoryId - Optional category filter; state - Optional state filter
-     * @return: PageBean<Article> - Paginated list of articles with total count
+     * @Description: Retrieves a paginated list of article summaries filtered by category ID and state, along with total item count.
+     * @Param: pageNum - Current page number; pageSize - Number of items per page; categoryId - Optional category filter; state - Optional state filter; count - Whether to run the total count query
+     * @return: PageBean<ArticleSummary> - Paginated list of article summaries with total count
      */
     @Override
-    public PageBean<Article> list(Integer pageNum, Integer pageSize, Integer categoryId, String state) {
-        PageBean<Article> pb = new PageBean<>();
+    public PageBean<ArticleSummary> list(Integer pageNum, Integer pageSize, Integer categoryId, String state, boolean count) {
+        PageBean<ArticleSummary> pb = new PageBean<>();
 
-        PageHelper.startPage(pageNum, pageSize);
+        PageHelper.startPage(pageNum, pageSize, count);
 
-        Map<String, Object> map = ThreadLocalUtil.get();
-        Integer userId = (Integer) map.get("id");
-        List<Article> as = articleMapper.list(userId, categoryId, state);
-        Page<Article> p = (Page<Article>) as;
+        Integer userId = ThreadLocalUtil.get().getId();
+        List<ArticleSummary> as = articleMapper.list(userId, categoryId, state);
+        Page<ArticleSummary> p = (Page<ArticleSummary>) as;
         pb.setTotal(p.getTotal());
         pb.setItems(p.getResult());
+        uploadService.attachCoverVariants(pb.getItems());
+
+        return pb;
+    }
+
+    /**
+     * @Description: Retrieves a keyset page ordered by (update_time, id) descending. One extra row is fetched to detect whether a next page exists.
+     * @Param: cursor - Opaque cursor from the previous page; pageSize - Number of items per page; categoryId - Optional category filter; state - Optional state filter; count - Whether to compute the total count
+     * @return: PageBean<ArticleSummary> - Page of article summaries with the next cursor
+     */
+    @Override
+    public PageBean<ArticleSummary> listByCursor(String cursor, Integer pageSize, Integer categoryId, String state, boolean count) {
+        PageBean<ArticleSummary> pb = new PageBean<>();
+        int size = pageSize == null || pageSize <= 0 ? DEFAULT_PAGE_SIZE : pageSize;
+
+        Integer userId = ThreadLocalUtil.get().getId();
+        List<ArticleSummary> as = articleMapper.listAfter(userId, categoryId, state, PageCursor.decode(cursor), size + 1);
+        if (as.size() > size) {
+            as = as.subList(0, size);
+            ArticleSummary last = as.get(size - 1);
+            pb.setNextCursor(new PageCursor(last.getUpdateTime(), last.getId()).encode());
+        }
+        pb.setItems(as);
+        uploadService.attachCoverVariants(as);
+        pb.setTotal(count ? articleMapper.count(userId, categoryId, state) : -1L);
 
         return pb;
     }
 
     /**
-     * @Description: Updates an existing article, setting the update timestamp before saving changes to the database.
+     * @Description: Updates an existing article, setting the update timestamp before saving changes to the database, and records an ARTICLE_UPDATED event.
+     * Caches are invalidated after commit so a concurrent read cannot re-cache the old row.
      * @Param: article - Article object with updated details
      * @return: void
      */
     @Override
+    @Transactional
     public void update(Article article) {
         article.setUpdateTime(LocalDateTime.now());
         articleMapper.update(article);
+        Integer userId = ThreadLocalUtil.get().getId();
+        eventBus.publish(EventType.ARTICLE_UPDATED, article.getId(), userId);
+        TransactionUtil.afterCommit(() -> {
+            articleCache.evict(List.of(article.getId()));
+            listResponseCache.bump(userId);
+        });
     }
 
     /**
-     * @Description: Finds an article by its ID.
+     * @Description: Finds an article by its ID, served from the article cache when possible. Cover variants are resolved when the article is loaded
+     * into the cache, so variants stored after that only show up once the entry is evicted; until then clients use the original.
      * @Param: id - ID of the article to retrieve
-     * @return: Article - The article object corresponding to the specified ID
+     * @return: Article - The article object corresponding to the specified ID; shared with the cache, so it must not be modified
      */
     @Override
     public Article findById(Integer id) {
-        return articleMapper.findById(id);
+        return articleCache.get(id, key -> {
+            Article article = articleMapper.findById(key);
+            if (article != null) {
+                uploadService.attachCoverVariants(List.of(article));
+            }
+            return article;
+        });
     }
 
     /**
-     * @Description: Deletes an article by its ID.
+     * @Description: Deletes an article by its ID and records an ARTICLE_DELETED event.
      * @Param: id - ID of the article to delete
      * @return: void
      */
     @Override
+    @Transactional
     public void delete(Integer id) {
         articleMapper.delete(id);
+        Integer userId = ThreadLocalUtil.get().getId();
+        eventBus.publish(EventType.ARTICLE_DELETED, id, userId);
+        TransactionUtil.afterCommit(() -> {
+            articleCache.evict(List.of(id));
+            listResponseCache.bump(userId);
+        });
+    }
+
+    /**
+     * @Description: Searches the current user's articles in the in-process search index.
+     * @Param: query - Free-text query; limit - Maximum number of hits, capped at MAX_SEARCH_HITS
+     * @return: List<ArticleSearchHit> - Ranked hits with highlighted snippets
+     */
+    @Override
+    public List<ArticleSearchHit> search(String query, Integer limit) {
+        int n = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_SEARCH_HITS);
+        List<ArticleSearchHit> hits = articleSearchIndex.search(ThreadLocalUtil.get().getId(), query, n);
+        uploadService.attachCoverVariants(hits);
+        return hits;
+    }
+
+    /**
+     * @Description: Validates each article, queues the valid ones on the BATCH executor and flushes them as one JDBC batch inside a single transaction.
+     * Generated IDs are read back after the flush and ARTICLE_CREATED events are recorded through the same batch session.
+     * @Param: articles - Articles to create
+     * @return: List<BatchItemResult> - One result per submitted article, in order
+     */
+    @Override
+    @Transactional
+    public List<BatchItemResult> addBatch(List<Article> articles) {
+        checkBatchSize(articles.size());
+        Integer userId = ThreadLocalUtil.get().getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        BatchItemResult[] results = new BatchItemResult[articles.size()];
+        List<Article> inserted = new ArrayList<>();
+        for (int i = 0; i < articles.size(); i++) {
+            Article a = articles.get(i);
+            if (a == null) {
+                results[i] = BatchItemResult.failed(i, null, "article is required");
+                continue;
+            }
+            Set<ConstraintViolation<Article>> violations = validator.validate(a);
+            if (!violations.isEmpty()) {
+                results[i] = BatchItemResult.failed(i, null, violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+            a.setCreateUser(userId);
+            a.setCreateTime(now);
+            a.setUpdateTime(now);
+            batchSqlSession.insert(ADD_STATEMENT, a);
+            inserted.add(a);
+        }
+        batchSqlSession.flushStatements();
+
+        List<Integer> ids = new ArrayList<>(inserted.size());
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = BatchItemResult.ok(i, articles.get(i).getId());
+                ids.add(articles.get(i).getId());
+            }
+        }
+        eventBus.publishAll(EventType.ARTICLE_CREATED, ids, userId, batchSqlSession);
+        TransactionUtil.afterCommit(() -> listResponseCache.bump(userId));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @Description: Changes the state of the current user's articles among the given IDs with one UPDATE in one transaction.
+     * @Param: batchState - Article IDs and the new state
+     * @return: List<BatchItemResult> - One result per distinct ID, in order
+     */
+    @Override
+    @Transactional
+    public List<BatchItemResult> updateStateBatch(ArticleBatchState batchState) {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(batchState.getIds()));
+        checkBatchSize(ids.size());
+        Integer userId = ThreadLocalUtil.get().getId();
+
+        Set<Integer> owned = new HashSet<>(articleMapper.findOwnedIds(userId, ids));
+        if (!owned.isEmpty()) {
+            articleMapper.updateStateByIds(userId, owned, batchState.getState(), LocalDateTime.now());
+            eventBus.publishAll(EventType.ARTICLE_UPDATED, owned, userId);
+            TransactionUtil.afterCommit(() -> {
+                articleCache.evict(owned);
+                listResponseCache.bump(userId);
+            });
+        }
+        return ownershipResults(ids, owned);
+    }
+
+    /**
+     * @Description: Deletes the current user's articles among the given IDs with one DELETE in one transaction.
+     * @Param: ids - IDs of the articles to delete
+     * @return: List<BatchItemResult> - One result per distinct ID, in order
+     */
+    @Override
+    @Transactional
+    public List<BatchItemResult> deleteBatch(List<Integer> ids) {
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        checkBatchSize(distinct.size());
+        Integer userId = ThreadLocalUtil.get().getId();
+
+        Set<Integer> owned = new HashSet<>(articleMapper.findOwnedIds(userId, distinct));
+        if (!owned.isEmpty()) {
+            articleMapper.deleteByIds(userId, owned);
+            eventBus.publishAll(EventType.ARTICLE_DELETED, owned, userId);
+            TransactionUtil.afterCommit(() -> {
+                articleCache.evict(owned);
+                listResponseCache.bump(userId);
+            });
+        }
+        return ownershipResults(distinct, owned);
+    }
+
+    private static List<BatchItemResult> ownershipResults(List<Integer> ids, Set<Integer> owned) {
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            results.add(owned.contains(id) ? BatchItemResult.ok(i, id) : BatchItemResult.failed(i, id, "Article not found"));
+        }
+        return results;
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size == 0 || size > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch must contain between 1 and " + MAX_BATCH_SIZE + " items");
+        }
     }
 }
@@ -0,0 +1,309 @@
+package com.maojie.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maojie.cache.ListResponseCache;
+import com.maojie.event.EventBus;
+import com.maojie.mapper.ArticleMapper;
+import com.maojie.pojo.Article;
+import com.maojie.pojo.ArticleImportResult;
+import com.maojie.pojo.BatchItemResult;
+import com.maojie.pojo.Category;
+import com.maojie.pojo.EventType;
+import com.maojie.pojo.TransferFormat;
+import com.maojie.service.ArticleTransferService;
+import com.maojie.service.CategoryService;
+import com.maojie.utils.CsvUtil;
+import com.maojie.utils.RecordTooLongException;
+import com.maojie.utils.ThreadLocalUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ArticleTransferServiceImpl implements ArticleTransferService {
+
+    private static final int CHUNK_SIZE = 500; // Rows per JDBC batch and per import transaction
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int MAX_IMPORT_ROWS = 100_000; // Rows per import; the import stops with a rejected row beyond it
+
+    private static final int MAX_ROW_LENGTH = 1024 * 1024; // Characters per CSV record or NDJSON line
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] CSV_HEADER = {"id", "title", "content", "coverImg", "state", "categoryId", "createTime", "updateTime"};
+
+    private static final String ADD_STATEMENT = ArticleMapper.class.getName() + ".add";
+
+    @Autowired
+    private ArticleMapper articleMapper;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private EventBus eventBus;
+    @Autowired
+    private ListResponseCache listResponseCache;
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private SqlSessionTemplate batchSqlSession;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @Description: Walks a streaming MyBatis cursor and writes each row as soon as it is read, so memory use does not grow with the number of articles.
+     * The transaction keeps the connection (and the open result set) alive for the whole walk.
+     * @Param: format - Output format
+     * @Param: out - Destination stream
+     * @return: void
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(TransferFormat format, OutputStream out) throws IOException {
+        Integer userId = ThreadLocalUtil.get().getId();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+        try (Cursor<Article> cursor = articleMapper.streamByUser(userId)) {
+            if (format == TransferFormat.CSV) {
+                CsvUtil.writeRecord(writer, CSV_HEADER);
+            }
+            for (Article a : cursor) {
+                if (format == TransferFormat.CSV) {
+                    CsvUtil.writeRecord(writer, toString(a.getId()), a.getTitle(), a.getContent(), a.getCoverImg(),
+                            a.getState(), toString(a.getCategoryId()), toString(a.getCreateTime()), toString(a.getUpdateTime()));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(a));
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * @Description: Parses the input one row at a time and inserts valid rows in chunks of CHUNK_SIZE, each chunk in its own transaction and JDBC batch.
+     * IDs, owners and timestamps from the file are ignored; articles are created for the current user. Rows referring to a category the user
+     * does not own are rejected up front instead of failing the whole chunk on the foreign key. Chunks already committed stay committed if a later one fails.
+     * The import is bounded: it stops with a rejected row after MAX_IMPORT_ROWS rows or at a row longer than MAX_ROW_LENGTH characters.
+     * @Param: format - Input format
+     * @Param: in - Source stream
+     * @return: ArticleImportResult - Import summary
+     */
+    @Override
+    public ArticleImportResult importArticles(TransferFormat format, InputStream in) throws IOException {
+        Integer userId = ThreadLocalUtil.get().getId();
+        Set<Integer> categoryIds = categoryService.list().stream().map(Category::getId).collect(Collectors.toSet());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+        ArticleImportResult result = new ArticleImportResult();
+
+        Map<String, Integer> columns = null;
+        if (format == TransferFormat.CSV) {
+            List<String> header = CsvUtil.readRecord(reader, MAX_ROW_LENGTH);
+            if (header == null) {
+                return result;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+        }
+
+        List<Article> chunk = new ArrayList<>(CHUNK_SIZE);
+        int row = 0;
+        while (true) {
+            if (row == MAX_IMPORT_ROWS) {
+                if (reader.read() != -1) {
+                    reject(result, row + 1, "Imports are limited to " + MAX_IMPORT_ROWS + " rows; the remaining rows were not read");
+                }
+                break;
+            }
+            Article article;
+            if (format == TransferFormat.CSV) {
+                List<String> record;
+                try {
+                    record = CsvUtil.readRecord(reader, MAX_ROW_LENGTH);
+                } catch (RecordTooLongException e) {
+                    reject(result, row + 1, e.getMessage() + "; the remaining rows were not read");
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                row++;
+                if (record.size() == 1 && record.get(0).isEmpty()) {
+                    continue;
+                }
+                try {
+                    article = fromCsv(record, columns);
+                } catch (NumberFormatException e) {
+                    reject(result, row, "categoryId must be a number");
+                    continue;
+                }
+            } else {
+                String line;
+                try {
+                    line = readLine(reader, MAX_ROW_LENGTH);
+                } catch (RecordTooLongException e) {
+                    reject(result, row + 1, e.getMessage() + "; the remaining rows were not read");
+                    break;
+                }
+                if (line == null) {
+                    break;
+                }
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    article = objectMapper.readValue(line, Article.class);
+                } catch (JsonProcessingException e) {
+                    reject(result, row, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+                if (article == null) {
+                    reject(result, row, "Expected a JSON object");
+                    continue;
+                }
+            }
+
+            String error = validate(article, categoryIds);
+            if (error != null) {
+                reject(result, row, error);
+                continue;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            article.setId(null);
+            article.setCreateUser(userId);
+            article.setCreateTime(now);
+            article.setUpdateTime(now);
+            chunk.add(article);
+            if (chunk.size() == CHUNK_SIZE) {
+                insertChunk(chunk, result);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, result);
+        }
+        return result;
+    }
+
+    private void insertChunk(List<Article> chunk, ArticleImportResult result) {
+        Integer userId = chunk.get(0).getCreateUser();
+        transactionTemplate.executeWithoutResult(status -> {
+            chunk.forEach(a -> batchSqlSession.insert(ADD_STATEMENT, a));
+            batchSqlSession.flushStatements();
+            eventBus.publishAll(EventType.ARTICLE_CREATED, chunk.stream().map(Article::getId).toList(), userId, batchSqlSession);
+        });
+        listResponseCache.bump(userId);
+        result.setImported(result.getImported() + chunk.size());
+    }
+
+    private String validate(Article article, Set<Integer> categoryIds) {
+        Set<ConstraintViolation<Article>> violations = validator.validate(article);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!categoryIds.contains(article.getCategoryId())) {
+            return "Category not found: " + article.getCategoryId();
+        }
+        return null;
+    }
+
+    private static void reject(ArticleImportResult result, int row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(BatchItemResult.failed(row, null, message));
+        }
+    }
+
+    // BufferedReader.readLine without the unbounded buffering: fails once a line exceeds maxLength characters
+    private static String readLine(BufferedReader in, int maxLength) throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder line = new StringBuilder();
+        while (c != -1 && c != '\n') {
+            if (line.length() == maxLength) {
+                throw new RecordTooLongException(maxLength);
+            }
+            line.append((char) c);
+            c = in.read();
+        }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+
+    private static Article fromCsv(List<String> record, Map<String, Integer> columns) {
+        Article article = new Article();
+        article.setTitle(column(record, columns, "title"));
+        article.setContent(column(record, columns, "content"));
+        article.setCoverImg(column(record, columns, "coverImg"));
+        article.setState(column(record, columns, "state"));
+        String categoryId = column(record, columns, "categoryId");
+        article.setCategoryId(categoryId == null || categoryId.isBlank() ? null : Integer.valueOf(categoryId.trim()));
+        return article;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private static String toString(Integer value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static String toString(LocalDateTime time) {
+        return time == null ? null : time.toString();
+    }
+}
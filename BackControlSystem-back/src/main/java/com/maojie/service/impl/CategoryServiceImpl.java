@@ -1,21 +1,32 @@
 package com.maojie.service.impl;
 
+import com.maojie.cache.CategoryCache;
+import com.maojie.cache.ListResponseCache;
+import com.maojie.event.EventBus;
 import com.maojie.mapper.CategoryMapper;
 import com.maojie.pojo.Category;
+import com.maojie.pojo.EventType;
 import com.maojie.service.CategoryService;
 import com.maojie.utils.ThreadLocalUtil;
+import com.maojie.utils.TransactionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
 
     @Autowired
     private CategoryMapper categoryMapper;
+    @Autowired
+    private CategoryCache categoryCache;
+    @Autowired
+    private ListResponseCache listResponseCache;
+    @Autowired
+    private EventBus eventBus;
 
     /**
      * @Description: Adds a new category to the database, setting the creation and update timestamps and the user ID of the creator.
@@ -23,35 +34,40 @@ public class CategoryServiceImpl implements CategoryService {
      * @return: void
      */
     @Override
+    @Transactional
     public void add(Category category) {
         category.setCreateTime(LocalDateTime.now());
         category.setUpdateTime(LocalDateTime.now());
 
-        Map<String, Object> map = ThreadLocalUtil.get();
-        Integer userId = (Integer) map.get("id");
+        Integer userId = ThreadLocalUtil.get().getId();
         category.setCreateUser(userId);
         categoryMapper.add(category);
+        changed(EventType.CATEGORY_CREATED, category.getId());
     }
 
     /**
-     * @Description: Retrieves a list of categories created by the current user.
+     * @Description: Retrieves a list of categories created by the current user, served from the category cache when possible.
      * @Param: None
      * @return: List<Category> - A list of categories created by the logged-in user
      */
     @Override
     public List<Category> list() {
-        Map<String, Object> map = ThreadLocalUtil.get();
-        Integer userId = (Integer) map.get("id");
-        return categoryMapper.list(userId);
+        Integer userId = ThreadLocalUtil.get().getId();
+        return categoryCache.get(userId, categoryMapper::list);
     }
 
     /**
-     * @Description: Finds a category by its ID.
+     * @Description: Finds a category by its ID, looking in the current user's cached category list first.
      * @Param: id - ID of the category to retrieve
      * @return: Category - The category object corresponding to the specified ID
      */
     @Override
     public Category findById(Integer id) {
+        for (Category c : list()) {
+            if (c.getId().equals(id)) {
+                return c;
+            }
+        }
         return categoryMapper.findByid(id);
     }
 
@@ -61,9 +77,11 @@ public class CategoryServiceImpl implements CategoryService {
      * @return: void
      */
     @Override
+    @Transactional
     public void update(Category category) {
         category.setUpdateTime(LocalDateTime.now());
         categoryMapper.update(category);
+        changed(EventType.CATEGORY_UPDATED, category.getId());
     }
 
     /**
@@ -72,7 +90,23 @@ public class CategoryServiceImpl implements CategoryService {
      * @return: void
      */
     @Override
+    @Transactional
     public void delete(Integer id) {
         categoryMapper.delete(id);
+        changed(EventType.CATEGORY_DELETED, id);
+    }
+
+    /**
+     * @Description: Records the change as a domain event and, after commit, evicts the cached category list and list responses of the logged-in user.
+     * @Param: type - Event type; categoryId - ID of the changed category
+     * @return: void
+     */
+    private void changed(EventType type, Integer categoryId) {
+        Integer userId = ThreadLocalUtil.get().getId();
+        eventBus.publish(type, categoryId, userId);
+        TransactionUtil.afterCommit(() -> {
+            categoryCache.evict(userId);
+            listResponseCache.bump(userId);
+        });
     }
 }
@@ -0,0 +1,217 @@
+package com.maojie.service.impl;
+
+import com.maojie.config.DirectUploadConfig;
+import com.maojie.config.StorageConfig;
+import com.maojie.exception.BadRequestException;
+import com.maojie.pojo.UploadTicket;
+import com.maojie.service.StorageService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * @Description: StorageService that keeps uploaded files on the local filesystem, for on-prem nodes serving covers from local disk
+ * and for offline development and tests. Files are served back by FileDownloadController; direct uploads are received by
+ * LocalUploadController with HMAC-signed URLs that mimic OSS presigned PUTs.
+ */
+@Service
+@ConditionalOnProperty(prefix = "storage", name = "type", havingValue = "local")
+public class LocalStorageService implements StorageService {
+
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final Path root;
+
+    private final String baseUrl;
+
+    private final SecretKeySpec signingKey;
+
+    /**
+     * @Description: Creates the service and the storage directory.
+     * @Param: storageConfig - Local directory and base URL settings; directUploadConfig - Key for signing upload URLs
+     * @throws IOException - If the storage directory cannot be created
+     */
+    public LocalStorageService(StorageConfig storageConfig, DirectUploadConfig directUploadConfig) throws IOException {
+        this.root = Files.createDirectories(Paths.get(storageConfig.getLocalDir()).toAbsolutePath().normalize());
+        this.baseUrl = storageConfig.getLocalBaseUrl();
+        byte[] key;
+        if (StringUtils.hasLength(directUploadConfig.getSigningKey())) {
+            key = directUploadConfig.getSigningKey().getBytes(StandardCharsets.UTF_8);
+        } else {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        }
+        this.signingKey = new SecretKeySpec(key, HMAC);
+    }
+
+    /**
+     * @Description: Streams the file into a temporary file through a FileChannel and atomically moves it into place, so readers never see partial files.
+     * @Param: objectName - Name of the stored file; in - InputStream of the file; size - Size in bytes, or -1 if unknown
+     * @return: String - URL of the stored file
+     * @throws IOException - If the file could not be written
+     */
+    @Override
+    public String store(String objectName, InputStream in, long size) throws IOException {
+        Path target = resolve(objectName);
+        Path tmp = writeTemp(in, Long.MAX_VALUE);
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return url(objectName);
+    }
+
+    /**
+     * @Description: Stores a file only if no file of that name exists yet, the local equivalent of OSS x-oss-forbid-overwrite. The file is
+     * published with a hard link, which fails atomically if the name is taken.
+     * @Param: objectName - Name of the stored file; in - InputStream of the file; maxSize - Largest accepted size in bytes
+     * @return: boolean - False if the content is larger than maxSize, in which case nothing is stored
+     * @throws java.nio.file.FileAlreadyExistsException - If a file of that name already exists
+     * @throws IOException - If the file could not be written
+     */
+    public boolean storeNew(String objectName, InputStream in, long maxSize) throws IOException {
+        Path target = resolve(objectName);
+        Path tmp = writeTemp(in, maxSize);
+        try {
+            if (Files.size(tmp) > maxSize) {
+                return false;
+            }
+            Files.createLink(target, tmp);
+            return true;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * @Description: Copies the stream into a new temporary file in the storage directory and forces it to disk.
+     * @Param: in - InputStream of the file; maxSize - Copying stops after one byte more than this
+     * @return: Path - The temporary file, which the caller must move or delete
+     */
+    private Path writeTemp(InputStream in, long maxSize) throws IOException {
+        Path tmp = Files.createTempFile(root, ".upload-", ".tmp");
+        long limit = maxSize == Long.MAX_VALUE ? Long.MAX_VALUE : maxSize + 1;
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ReadableByteChannel src = Channels.newChannel(in);
+            long position = 0;
+            long transferred;
+            while (position < limit && (transferred = out.transferFrom(src, position, Math.min(TRANSFER_CHUNK, limit - position))) > 0) {
+                position += transferred;
+            }
+            out.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return tmp;
+    }
+
+    /**
+     * @Description: Returns the URL under which FileDownloadController serves the file.
+     * @Param: objectName - Name of the stored file
+     * @return: String - URL of the file
+     */
+    @Override
+    public String url(String objectName) {
+        return baseUrl + "/" + objectName;
+    }
+
+    /**
+     * @Description: Opens a stored file for reading.
+     * @Param: objectName - Name of the stored file
+     * @return: InputStream - Content of the file
+     * @throws java.nio.file.NoSuchFileException - If the file does not exist
+     */
+    @Override
+    public InputStream open(String objectName) throws IOException {
+        return Files.newInputStream(resolve(objectName));
+    }
+
+    /**
+     * @Description: Deletes a stored file if it exists.
+     * @Param: objectName - Name of the stored file
+     * @return: void
+     */
+    @Override
+    public void delete(String objectName) throws IOException {
+        Files.deleteIfExists(resolve(objectName));
+    }
+
+    /**
+     * @Description: Signs a PUT to the file's own URL. The signature covers the method, object name, content type and expiry, so none of them
+     * can be changed by the client.
+     * @Param: objectName - Name of the file to create; contentType - Content type the client must send; expiresAt - Expiry of the signature
+     * @return: UploadTicket - Signed PUT request
+     */
+    @Override
+    public UploadTicket presignUpload(String objectName, String contentType, Instant expiresAt) {
+        resolve(objectName);
+        long expires = expiresAt.getEpochSecond();
+        UploadTicket ticket = new UploadTicket();
+        ticket.setMethod("PUT");
+        ticket.setUploadUrl(url(objectName) + "?expires=" + expires + "&signature=" + sign(objectName, contentType, expires));
+        ticket.setHeaders(Map.of("Content-Type", contentType));
+        ticket.setExpiresAt(expiresAt);
+        return ticket;
+    }
+
+    /**
+     * @Description: Checks a signed upload URL issued by presignUpload.
+     * @Param: objectName - Name of the file; contentType - Content type sent by the client; expires - Expiry in epoch seconds; signature - Signature from the URL
+     * @return: boolean - True if the signature matches and has not expired
+     */
+    public boolean verifyUpload(String objectName, String contentType, long expires, String signature) {
+        if (signature == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        byte[] expected = sign(objectName, contentType, expires).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String sign(String objectName, String contentType, long expires) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(signingKey);
+            byte[] signature = mac.doFinal(("PUT\n" + objectName + "\n" + contentType + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e); // every JRE provides HmacSHA256
+        }
+    }
+
+    /**
+     * @Description: Resolves an object name inside the storage directory, rejecting names that would escape it.
+     * @Param: objectName - Name of the stored file
+     * @return: Path - Location of the file
+     */
+    public Path resolve(String objectName) {
+        Path path = root.resolve(objectName).normalize();
+        if (!path.getParent().equals(root)) {
+            throw new BadRequestException("Invalid object name");
+        }
+        return path;
+    }
+}
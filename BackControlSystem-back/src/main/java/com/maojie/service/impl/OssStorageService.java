@@ -0,0 +1,280 @@
+package com.maojie.service.impl;
+
+import com.aliyun.oss.ClientBuilderConfiguration;
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.HttpMethod;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSClientBuilder;
+import com.aliyun.oss.OSSErrorCode;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
+import com.aliyun.oss.model.GeneratePresignedUrlRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
+import com.aliyun.oss.model.PartETag;
+import com.aliyun.oss.model.PutObjectRequest;
+import com.aliyun.oss.model.UploadPartRequest;
+import com.maojie.config.AliCloudConfig;
+import com.maojie.config.StorageConfig;
+import com.maojie.pojo.UploadTicket;
+import com.maojie.service.StorageService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.NoSuchFileException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @Description: StorageService backed by AliCloud OSS. One OSS client with a pooled connection manager is shared by all uploads
+ * for the lifetime of the application; large files are sent as a multipart upload whose parts are uploaded in parallel.
+ */
+@Service
+@ConditionalOnProperty(prefix = "storage", name = "type", havingValue = "oss", matchIfMissing = true)
+public class OssStorageService implements StorageService {
+
+    private static final String FORBID_OVERWRITE = "x-oss-forbid-overwrite";
+
+    private final AliCloudConfig aliCloudConfig;
+
+    private final StorageConfig storageConfig;
+
+    private final ExecutorService partExecutor;
+
+    private volatile OSS ossClient;
+
+    /**
+     * @Description: Creates the service and the thread pool used for part uploads; the OSS client itself is created on first use.
+     * @Param: aliCloudConfig - OSS endpoint, credentials and bucket; storageConfig - Multipart and pooling settings
+     */
+    public OssStorageService(AliCloudConfig aliCloudConfig, StorageConfig storageConfig) {
+        this.aliCloudConfig = aliCloudConfig;
+        this.storageConfig = storageConfig;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.partExecutor = Executors.newFixedThreadPool(storageConfig.getUploadThreads(), r -> {
+            Thread t = new Thread(r, "oss-upload-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @Description: Uploads a file to OSS, using a parallel multipart upload when its size reaches the configured threshold.
+     * @Param: objectName - Name of the object in the bucket; in - InputStream of the file; size - Size in bytes, or -1 if unknown
+     * @return: String - URL of the uploaded file
+     * @throws IOException - If the upload fails
+     */
+    @Override
+    public String store(String objectName, InputStream in, long size) throws IOException {
+        String bucketName = aliCloudConfig.getBucketName();
+        try {
+            if (size >= 0 && size < storageConfig.getMultipartThreshold()) {
+                client().putObject(new PutObjectRequest(bucketName, objectName, in));
+            } else {
+                multipartUpload(bucketName, objectName, in);
+            }
+        } catch (OSSException oe) {
+            // the request made it to OSS but was rejected
+            throw new IOException("OSS rejected upload of " + objectName + ": " + oe.getErrorCode()
+                    + " " + oe.getErrorMessage() + " (request " + oe.getRequestId() + ")", oe);
+        } catch (ClientException ce) {
+            // the client could not talk to OSS, e.g. the network is unavailable
+            throw new IOException("Could not reach OSS to upload " + objectName + ": " + ce.getMessage(), ce);
+        }
+        return url(objectName);
+    }
+
+    /**
+     * @Description: Builds the virtual-hosted-style URL of an object.
+     * @Param: objectName - Name of the object in the bucket
+     * @return: String - URL of the object
+     */
+    @Override
+    public String url(String objectName) {
+        String endpoint = aliCloudConfig.getEndpoint();
+        return "https://" + aliCloudConfig.getBucketName() + "." + endpoint.substring(endpoint.lastIndexOf("/") + 1) + "/" + objectName;
+    }
+
+    /**
+     * @Description: Opens an object for streaming; the caller must close the stream to return the connection to the pool.
+     * @Param: objectName - Name of the object in the bucket
+     * @return: InputStream - Content of the object
+     * @throws NoSuchFileException - If the object does not exist
+     * @throws IOException - If OSS cannot be reached or rejects the request
+     */
+    @Override
+    public InputStream open(String objectName) throws IOException {
+        try {
+            return client().getObject(aliCloudConfig.getBucketName(), objectName).getObjectContent();
+        } catch (OSSException oe) {
+            if (OSSErrorCode.NO_SUCH_KEY.equals(oe.getErrorCode())) {
+                throw new NoSuchFileException(objectName);
+            }
+            throw new IOException("OSS rejected download of " + objectName + ": " + oe.getErrorCode()
+                    + " " + oe.getErrorMessage() + " (request " + oe.getRequestId() + ")", oe);
+        } catch (ClientException ce) {
+            throw new IOException("Could not reach OSS to download " + objectName + ": " + ce.getMessage(), ce);
+        }
+    }
+
+    /**
+     * @Description: Deletes an object from the bucket.
+     * @Param: objectName - Name of the object in the bucket
+     * @return: void
+     * @throws IOException - If OSS cannot be reached or rejects the request
+     */
+    @Override
+    public void delete(String objectName) throws IOException {
+        try {
+            client().deleteObject(aliCloudConfig.getBucketName(), objectName);
+        } catch (OSSException oe) {
+            throw new IOException("OSS rejected deletion of " + objectName + ": " + oe.getErrorCode()
+                    + " " + oe.getErrorMessage() + " (request " + oe.getRequestId() + ")", oe);
+        } catch (ClientException ce) {
+            throw new IOException("Could not reach OSS to delete " + objectName + ": " + ce.getMessage(), ce);
+        }
+    }
+
+    /**
+     * @Description: Signs a PUT URL for the object with the account credentials. Signing is a local computation, no request is sent to OSS.
+     * The signature covers the content type and x-oss-forbid-overwrite, so the client must send both headers unchanged and cannot replace an
+     * existing object. The bucket needs a CORS rule allowing PUT from the front-end origin.
+     * @Param: objectName - Name of the object to create; contentType - Content type the client must send; expiresAt - Expiry of the signature
+     * @return: UploadTicket - Signed PUT request
+     */
+    @Override
+    public UploadTicket presignUpload(String objectName, String contentType, Instant expiresAt) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(aliCloudConfig.getBucketName(), objectName, HttpMethod.PUT);
+        request.setExpiration(Date.from(expiresAt));
+        request.setContentType(contentType);
+        request.addHeader(FORBID_OVERWRITE, "true");
+        URL url = client().generatePresignedUrl(request);
+
+        UploadTicket ticket = new UploadTicket();
+        ticket.setMethod("PUT");
+        ticket.setUploadUrl(url.toString());
+        ticket.setHeaders(Map.of("Content-Type", contentType, FORBID_OVERWRITE, "true"));
+        ticket.setExpiresAt(expiresAt);
+        return ticket;
+    }
+
+    /**
+     * @Description: Reads the stream part by part and uploads the parts in parallel. At most maxPartsInFlight parts are buffered,
+     * so memory use does not depend on the file size. The upload is aborted if any part fails.
+     * @Param: bucketName - Target bucket; objectName - Target object name; in - InputStream of the file
+     * @return: void
+     * @throws IOException - If reading the stream or uploading a part fails
+     */
+    private void multipartUpload(String bucketName, String objectName, InputStream in) throws IOException {
+        OSS client = client();
+        String uploadId = client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, objectName)).getUploadId();
+        Semaphore inFlight = new Semaphore(storageConfig.getMaxPartsInFlight());
+        List<Future<PartETag>> parts = new ArrayList<>();
+        try {
+            int partSize = (int) storageConfig.getPartSize();
+            int partNumber = 1;
+            while (true) {
+                inFlight.acquire();
+                byte[] buffer = in.readNBytes(partSize);
+                if (buffer.length == 0 && partNumber > 1) {
+                    inFlight.release();
+                    break;
+                }
+                UploadPartRequest request = new UploadPartRequest(bucketName, objectName, uploadId, partNumber++,
+                        new ByteArrayInputStream(buffer), buffer.length);
+                parts.add(partExecutor.submit(() -> {
+                    try {
+                        return client.uploadPart(request).getPartETag();
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                if (buffer.length < partSize) {
+                    break;
+                }
+            }
+            List<PartETag> eTags = new ArrayList<>(parts.size());
+            for (Future<PartETag> part : parts) {
+                eTags.add(part.get());
+            }
+            eTags.sort(Comparator.comparingInt(PartETag::getPartNumber));
+            client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, objectName, uploadId, eTags));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(client, bucketName, objectName, uploadId, parts);
+            throw new IOException("Interrupted while uploading " + objectName, e);
+        } catch (ExecutionException e) {
+            abort(client, bucketName, objectName, uploadId, parts);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException("Failed to upload a part of " + objectName, cause);
+        } catch (IOException | RuntimeException e) {
+            abort(client, bucketName, objectName, uploadId, parts);
+            throw e;
+        }
+    }
+
+    /**
+     * @Description: Cancels outstanding parts and aborts the multipart upload so OSS discards the uploaded parts.
+     * @Param: client - OSS client; bucketName - Target bucket; objectName - Target object name; uploadId - Multipart upload ID; parts - Submitted part uploads
+     * @return: void
+     */
+    private void abort(OSS client, String bucketName, String objectName, String uploadId, List<Future<PartETag>> parts) {
+        parts.forEach(part -> part.cancel(true));
+        try {
+            client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, objectName, uploadId));
+        } catch (RuntimeException ignored) {
+            // best effort, OSS lifecycle rules clean up incomplete uploads
+        }
+    }
+
+    /**
+     * @Description: Returns the shared OSS client, creating it on first use with a pooled connection manager.
+     * @return: OSS - The shared client
+     */
+    private OSS client() {
+        OSS client = ossClient;
+        if (client == null) {
+            synchronized (this) {
+                client = ossClient;
+                if (client == null) {
+                    ClientBuilderConfiguration conf = new ClientBuilderConfiguration();
+                    conf.setMaxConnections(storageConfig.getMaxConnections());
+                    client = new OSSClientBuilder().build(aliCloudConfig.getEndpoint(), aliCloudConfig.getAccessKeyId(),
+                            aliCloudConfig.getAccessKeySecret(), conf);
+                    ossClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * @Description: Shuts down the part upload pool and the shared OSS client when the application stops.
+     * @return: void
+     */
+    @PreDestroy
+    public void shutdown() {
+        partExecutor.shutdownNow();
+        if (ossClient != null) {
+            ossClient.shutdown();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.maojie.service.impl;
+
+import com.maojie.config.DirectUploadConfig;
+import com.maojie.exception.BadRequestException;
+import com.maojie.image.ImageDerivativePipeline;
+import com.maojie.image.ImageVariants;
+import com.maojie.mapper.UploadObjectMapper;
+import com.maojie.pojo.CoverImageHolder;
+import com.maojie.pojo.UploadObject;
+import com.maojie.pojo.UploadSignRequest;
+import com.maojie.pojo.UploadTicket;
+import com.maojie.service.StorageService;
+import com.maojie.service.UploadService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+public class UploadServiceImpl implements UploadService {
+
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    private static final Pattern EXTENSION = Pattern.compile("\\.[A-Za-z0-9]{1,10}$");
+
+    private static final Pattern DIRECT_OBJECT_NAME = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]{1,10})?");
+
+    @Autowired
+    private StorageService storageService;
+    @Autowired
+    private UploadObjectMapper uploadObjectMapper;
+    @Autowired
+    private ImageDerivativePipeline imageDerivativePipeline;
+    @Autowired
+    private DirectUploadConfig directUploadConfig;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter stored;
+
+    private Counter deduplicated;
+
+    private Counter deduplicatedBytes;
+
+    private Counter direct;
+
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        stored = meterRegistry.counter("upload.stored");
+        deduplicated = meterRegistry.counter("upload.deduplicated");
+        deduplicatedBytes = meterRegistry.counter("upload.deduplicated.bytes");
+        direct = meterRegistry.counter("upload.direct");
+        rejected = meterRegistry.counter("upload.direct.rejected");
+    }
+
+    /**
+     * @Description: Hashes the upload with SHA-256 in one pass over the part Tomcat has already received, then either returns the URL of the
+     * object stored for that digest or stores the file as "<digest>.<ext>" and records it. Identical content uploaded concurrently is stored by
+     * each request under the same name, which is harmless, and counted once per upload by the index.
+     * For new images the upload is moved to a temporary file that is handed to the derivative pipeline once the original is stored and recorded;
+     * the response does not wait for the resized variants, which are recorded on the same row when they are stored.
+     * @Param: file - The uploaded file
+     * @return: String - URL of the stored file
+     */
+    @Override
+    public String upload(MultipartFile file) throws IOException {
+        String digest = digest(file);
+        long size = file.getSize(); // read up front: once the part file has been moved by transferTo, Tomcat reports 0
+        LocalDateTime now = LocalDateTime.now();
+        String url = uploadObjectMapper.findUrl(digest);
+        if (url != null) {
+            uploadObjectMapper.addReference(digest, now);
+            deduplicated.increment();
+            deduplicatedBytes.increment(size);
+            return url;
+        }
+
+        String objectName = digest + extension(file.getOriginalFilename());
+        Path source = null;
+        try {
+            if (imageDerivativePipeline.accepts(objectName)) {
+                // transferTo(File) goes through Part.write, which renames a part spooled to disk instead of copying it (transferTo(Path)
+                // always copies the stream). Part.write resolves relative names against the multipart location, so pass an absolute path.
+                source = Files.createTempFile("upload-", extension(objectName)).toAbsolutePath();
+                file.transferTo(source.toFile());
+                try (InputStream in = Files.newInputStream(source)) {
+                    url = storageService.store(objectName, in, Files.size(source));
+                }
+            } else {
+                try (InputStream in = file.getInputStream()) {
+                    url = storageService.store(objectName, in, size);
+                }
+            }
+            uploadObjectMapper.add(digest, objectName, url, size, now);
+        } catch (IOException | RuntimeException e) {
+            deleteIfExists(source);
+            throw e;
+        }
+        stored.increment();
+        if (source != null) {
+            submitVariants(digest, objectName, source);
+        }
+        return url;
+    }
+
+    /**
+     * @Description: Prepares a direct upload. Identical content that is already stored is counted as one more reference and its URL returned,
+     * so the client skips the transfer entirely; otherwise the storage backend signs an upload of "<digest>.<ext>" that expires after ttlSeconds.
+     * @Param: request - Digest, name, content type and size of the file
+     * @return: UploadTicket - Existing URL or signed upload request
+     */
+    @Override
+    public UploadTicket sign(UploadSignRequest request) {
+        if (!directUploadConfig.isEnabled()) {
+            throw new BadRequestException("Direct uploads are disabled");
+        }
+        if (request.getSize() > directUploadConfig.getMaxSize()) {
+            throw new BadRequestException("File exceeds the direct upload limit of " + directUploadConfig.getMaxSize() + " bytes");
+        }
+        String contentType = StringUtils.hasText(request.getContentType())
+                ? MediaType.parseMediaType(request.getContentType()).toString()
+                : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+        String url = uploadObjectMapper.findUrl(request.getDigest());
+        if (url != null) {
+            uploadObjectMapper.addReference(request.getDigest(), LocalDateTime.now());
+            deduplicated.increment();
+            deduplicatedBytes.increment(request.getSize());
+            UploadTicket ticket = new UploadTicket();
+            ticket.setExists(true);
+            ticket.setUrl(url);
+            return ticket;
+        }
+        String objectName = request.getDigest() + extension(request.getFilename());
+        UploadTicket ticket = storageService.presignUpload(objectName, contentType,
+                Instant.now().plusSeconds(directUploadConfig.getTtlSeconds()));
+        ticket.setObjectName(objectName);
+        return ticket;
+    }
+
+    /**
+     * @Description: Reads the uploaded object back from storage once to check its size and that its SHA-256 matches the digest in its name,
+     * so a client cannot plant different content under another file's digest. On mismatch the object is deleted. New images are copied to a
+     * temporary file during the same read and handed to the derivative pipeline. Completing an object twice only adds a reference.
+     * @Param: objectName - Object name from the UploadTicket
+     * @return: String - URL of the stored file
+     */
+    @Override
+    public String complete(String objectName) throws IOException {
+        Matcher m = DIRECT_OBJECT_NAME.matcher(objectName == null ? "" : objectName);
+        if (!m.matches()) {
+            throw new BadRequestException("Invalid object name");
+        }
+        String digest = m.group(1);
+        LocalDateTime now = LocalDateTime.now();
+        String url = uploadObjectMapper.findUrl(digest);
+        if (url != null) {
+            uploadObjectMapper.addReference(digest, now);
+            return url;
+        }
+
+        long maxSize = directUploadConfig.getMaxSize();
+        Path source = imageDerivativePipeline.accepts(objectName) ? Files.createTempFile("upload-", extension(objectName)) : null;
+        MessageDigest sha256 = sha256();
+        long size;
+        try (InputStream in = storageService.open(objectName);
+             OutputStream copy = source == null ? OutputStream.nullOutputStream() : Files.newOutputStream(source)) {
+            size = copyAndHash(in, sha256, copy, maxSize + 1);
+        } catch (NoSuchFileException e) {
+            deleteIfExists(source);
+            throw new BadRequestException("Object has not been uploaded: " + objectName);
+        } catch (IOException | RuntimeException e) {
+            deleteIfExists(source);
+            throw e;
+        }
+        if (size > maxSize || !digest.equals(HexFormat.of().formatHex(sha256.digest()))) {
+            deleteIfExists(source);
+            storageService.delete(objectName);
+            rejected.increment();
+            throw new BadRequestException(size > maxSize
+                    ? "File exceeds the direct upload limit of " + maxSize + " bytes"
+                    : "Uploaded content does not match its digest");
+        }
+
+        url = storageService.url(objectName);
+        uploadObjectMapper.add(digest, objectName, url, size, now);
+        direct.increment();
+        if (source != null) {
+            submitVariants(digest, objectName, source);
+        }
+        return url;
+    }
+
+    /**
+     * @Description: Looks up the stored variants of all distinct cover images with one query and sets the URLs of those variants; covers that
+     * are not uploaded images, or have no stored variants, get none, so clients load the original instead of probing for a missing file.
+     * @Param: items - Items whose cover images are resolved
+     * @return: void
+     */
+    @Override
+    public void attachCoverVariants(Collection<? extends CoverImageHolder> items) {
+        Set<String> digests = new HashSet<>();
+        for (CoverImageHolder item : items) {
+            String digest = ImageVariants.digest(item.getCoverImg());
+            if (digest != null) {
+                digests.add(digest);
+            }
+        }
+        if (digests.isEmpty()) {
+            return;
+        }
+        Map<String, List<Integer>> widths = new HashMap<>();
+        for (UploadObject o : uploadObjectMapper.findVariants(digests)) {
+            widths.put(o.getDigest(), ImageVariants.parseWidths(o.getVariantWidths()));
+        }
+        for (CoverImageHolder item : items) {
+            String digest = ImageVariants.digest(item.getCoverImg());
+            if (digest != null) {
+                item.setCoverVariants(ImageVariants.variantUrls(item.getCoverImg(), widths.get(digest)));
+            }
+        }
+    }
+
+    private void submitVariants(String digest, String objectName, Path source) {
+        imageDerivativePipeline.submit(objectName, source,
+                widths -> uploadObjectMapper.setVariantWidths(digest, ImageVariants.formatWidths(widths)));
+    }
+
+    private static String digest(MultipartFile file) throws IOException {
+        MessageDigest sha256 = sha256();
+        try (InputStream in = file.getInputStream()) {
+            copyAndHash(in, sha256, OutputStream.nullOutputStream(), Long.MAX_VALUE);
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    /**
+     * @Description: Feeds the stream into the digest and copies it to the output in one pass.
+     * @Param: in - Source stream; sha256 - Digest to update; copy - Destination stream; limit - Reading stops after this many bytes
+     * @return: long - Number of bytes read
+     */
+    private static long copyAndHash(InputStream in, MessageDigest sha256, OutputStream copy, long limit) throws IOException {
+        byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+        long total = 0;
+        int n;
+        while (total < limit && (n = in.read(buffer, 0, (int) Math.min(buffer.length, limit - total))) > 0) {
+            sha256.update(buffer, 0, n);
+            copy.write(buffer, 0, n);
+            total += n;
+        }
+        return total;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JRE provides SHA-256
+        }
+    }
+
+    private static void deleteIfExists(Path path) throws IOException {
+        if (path != null) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * @Description: Returns the lower-cased extension of a file name including the dot, so "a.PNG" and "b.png" map to the same object name.
+     * @Param: filename - Original file name, may be null
+     * @return: String - Extension such as ".png", or an empty string if there is none
+     */
+    private static String extension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        Matcher m = EXTENSION.matcher(filename);
+        return m.find() ? m.group().toLowerCase(Locale.ROOT) : "";
+    }
+}
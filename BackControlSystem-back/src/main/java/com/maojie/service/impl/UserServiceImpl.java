@@ -1,21 +1,27 @@
 package com.maojie.service.impl;
 
+import com.maojie.event.EventBus;
 import com.maojie.mapper.UserMapper;
+import com.maojie.pojo.EventType;
 import com.maojie.pojo.User;
 import com.maojie.service.UserService;
-import com.maojie.utils.Md5Util;
+import com.maojie.utils.PasswordHasher;
 import com.maojie.utils.ThreadLocalUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     @Autowired
     private UserMapper userMapper;
+    @Autowired
+    private PasswordHasher passwordHasher;
+    @Autowired
+    private EventBus eventBus;
 
     /**
      * @Description: Finds a user by their username.
@@ -28,14 +34,44 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * @Description: Registers a new user by encrypting the password and saving the user details.
+     * @Description: Finds a user by their ID.
+     * @Param: id - The ID of the user to retrieve
+     * @return: User - User object corresponding to the specified ID
+     */
+    @Override
+    public User findById(Integer id) {
+        return userMapper.findById(id);
+    }
+
+    /**
+     * @Description: Registers a new user by hashing the password and saving the user details, and records a USER_REGISTERED event.
      * @Param: username - Username for the new user; password - Password for the new user
      * @return: void
      */
     @Override
+    @Transactional
     public void register(String username, String password) {
-        String md5String = Md5Util.getMD5String(password);
-        userMapper.add(username, md5String);
+        userMapper.add(username, passwordHasher.hash(password));
+        Integer id = userMapper.findByUserName(username).getId();
+        eventBus.publish(EventType.USER_REGISTERED, id, id);
+    }
+
+    /**
+     * @Description: Checks a password against the user's stored hash and rehashes it with the current settings when it is outdated.
+     * @Param: user - User whose password is checked; password - Raw password entered by the user
+     * @return: boolean - True if the password matches
+     */
+    @Override
+    public boolean checkPassword(User user, String password) {
+        if (!passwordHasher.matches(password, user.getPassword())) {
+            return false;
+        }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            String hash = passwordHasher.hash(password);
+            userMapper.updatePwd(hash, user.getId());
+            user.setPassword(hash);
+        }
+        return true;
     }
 
     /**
@@ -44,9 +80,11 @@ public class UserServiceImpl implements UserService {
      * @return: void
      */
     @Override
+    @Transactional
     public void update(User user) {
         user.setUpdateTime(LocalDateTime.now());
         userMapper.update(user);
+        eventBus.publish(EventType.USER_UPDATED, user.getId(), ThreadLocalUtil.get().getId());
     }
 
     /**
@@ -55,21 +93,23 @@ public class UserServiceImpl implements UserService {
      * @return: void
      */
     @Override
+    @Transactional
     public void updateAvatar(String avatarUrl) {
-        Map<String, Object> map = ThreadLocalUtil.get();
-        Integer id = (Integer) map.get("id");
+        Integer id = ThreadLocalUtil.get().getId();
         userMapper.updataAvatar(avatarUrl, id);
+        eventBus.publish(EventType.USER_AVATAR_UPDATED, id, id);
     }
 
     /**
-     * @Description: Updates the user's password after encrypting it with MD5.
+     * @Description: Updates the user's password after hashing it.
      * @Param: newPwd - New password for the user
      * @return: void
      */
     @Override
+    @Transactional
     public void updatePwd(String newPwd) {
-        Map<String, Object> map = ThreadLocalUtil.get();
-        Integer id = (Integer) map.get("id");
-        userMapper.updatePwd(Md5Util.getMD5String(newPwd), id);
+        Integer id = ThreadLocalUtil.get().getId();
+        userMapper.updatePwd(passwordHasher.hash(newPwd), id);
+        eventBus.publish(EventType.USER_PASSWORD_UPDATED, id, id);
     }
 }
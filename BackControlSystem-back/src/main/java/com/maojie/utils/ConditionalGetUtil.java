@@ -0,0 +1,30 @@
+package com.maojie.utils;
+
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * @Description: Conditional GET support for resources versioned by their update time.
+ */
+public class ConditionalGetUtil {
+
+    /**
+     * @Description: Sets a strong ETag ("id-updateTimeMillis") and Last-Modified on the response and checks them against
+     * If-None-Match / If-Modified-Since. When this returns true the response status is already 304 and the handler should return null
+     * so no body is serialized. Responses are marked private, no-cache so browsers keep them but always revalidate.
+     * @Param: request - Current request; id - Resource ID; updateTime - Last update time of the resource
+     * @return: boolean - True if the client's copy is still current
+     */
+    public static boolean notModified(ServletWebRequest request, Integer id, LocalDateTime updateTime) {
+        if (updateTime == null) {
+            return false;
+        }
+        long lastModified = updateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader("Cache-Control", "private, no-cache");
+        }
+        return request.checkNotModified("\"" + id + "-" + lastModified + "\"", lastModified);
+    }
+}
@@ -0,0 +1,134 @@
+package com.maojie.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @Description: Minimal RFC 4180 CSV reading and writing, one record at a time so callers can stream arbitrarily large files.
+ * Fields are quoted only when they contain a comma, a quote or a line break; quoted fields may span several lines.
+ * Fields a spreadsheet would evaluate as a formula (starting with =, +, -, @, tab or CR) are written with a leading apostrophe, which
+ * spreadsheets treat as "text" and do not display; readRecord strips it again, so written files read back unchanged.
+ */
+public class CsvUtil {
+
+    private static final String FORMULA_CHARS = "=+-@\t\r";
+
+    private static final char TEXT_PREFIX = '\'';
+
+    /**
+     * @Description: Writes one record followed by CRLF. Null fields are written as empty fields; fields that could be evaluated as a formula
+     * (and fields already starting with an apostrophe, to keep them distinguishable) get a leading apostrophe.
+     * @Param: out - Destination writer
+     * @Param: fields - Field values of the record
+     * @return: void
+     */
+    public static void writeRecord(Writer out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            if (!field.isEmpty() && (FORMULA_CHARS.indexOf(field.charAt(0)) >= 0 || field.charAt(0) == TEXT_PREFIX)) {
+                field = TEXT_PREFIX + field;
+            }
+            if (needsQuoting(field)) {
+                out.write('"');
+                out.write(field.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(field);
+            }
+        }
+        out.write("\r\n");
+    }
+
+    /**
+     * @Description: Reads the next record. Accepts both CRLF and LF line endings. A leading apostrophe added by writeRecord is removed.
+     * @Param: in - Source reader, which must support mark/reset (e.g. a BufferedReader)
+     * @return: List<String> - Fields of the record, or null at end of input
+     */
+    public static List<String> readRecord(Reader in) throws IOException {
+        return readRecord(in, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @Description: Reads the next record like readRecord(Reader), but fails instead of buffering more than maxLength field characters,
+     * so an unterminated or oversized quoted field cannot grow without bound.
+     * @Param: in - Source reader, which must support mark/reset (e.g. a BufferedReader)
+     * @Param: maxLength - Maximum total length of the fields of the record
+     * @return: List<String> - Fields of the record, or null at end of input
+     */
+    public static List<String> readRecord(Reader in, int maxLength) throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (++length > maxLength) {
+                throw new RecordTooLongException(maxLength);
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    in.mark(1);
+                    int next = in.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        in.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(unprefix(field));
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    in.mark(1);
+                    if (in.read() != '\n') {
+                        in.reset();
+                    }
+                }
+                fields.add(unprefix(field));
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    private static String unprefix(StringBuilder field) {
+        if (field.length() > 1 && field.charAt(0) == TEXT_PREFIX
+                && (FORMULA_CHARS.indexOf(field.charAt(1)) >= 0 || field.charAt(1) == TEXT_PREFIX)) {
+            return field.substring(1);
+        }
+        return field.toString();
+    }
+
+    private static boolean needsQuoting(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
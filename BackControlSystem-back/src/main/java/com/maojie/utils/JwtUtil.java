@@ -1,7 +1,9 @@
 package com.maojie.utils;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
 
 import java.util.Date;
 import java.util.Map;
@@ -13,6 +15,10 @@ public class JwtUtil {
 
     private static final String KEY = "itheima"; // Secret key used for signing the JWT
 
+    private static final Algorithm ALGORITHM = Algorithm.HMAC256(KEY); // Thread-safe, built once instead of per call
+
+    private static final JWTVerifier VERIFIER = JWT.require(ALGORITHM).build(); // Thread-safe, reused for every verification
+
     /**
      * @Description: Generates a JWT token with the specified claims and an expiration time.
      * @Param: claims - Map containing business data to be embedded in the token
@@ -22,7 +28,7 @@ public class JwtUtil {
         return JWT.create()
                 .withClaim("claims", claims)
                 .withExpiresAt(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 12)) // 12-hour expiration
-                .sign(Algorithm.HMAC256(KEY));
+                .sign(ALGORITHM);
     }
 
     /**
@@ -31,10 +37,17 @@ public class JwtUtil {
      * @return: Map<String, Object> - Map containing the extracted business data from the token
      */
     public static Map<String, Object> parseToken(String token) {
-        return JWT.require(Algorithm.HMAC256(KEY))
-                .build()
-                .verify(token)
+        return verify(token)
                 .getClaim("claims")
                 .asMap();
     }
+
+    /**
+     * @Description: Verifies a JWT token and returns it decoded, for callers that also need registered claims such as the expiry.
+     * @Param: token - JWT token to verify
+     * @return: DecodedJWT - Verified token; its "claims" claim holds the business data
+     */
+    public static DecodedJWT verify(String token) {
+        return VERIFIER.verify(token);
+    }
 }
@@ -5,22 +5,22 @@ import java.security.NoSuchAlgorithmException;
 
 /**
  * @Description: Utility class for generating and verifying MD5 hash values for strings.
+ * MessageDigest is not thread-safe, so every call works on its own clone of a prototype digest instead of sharing one instance.
  */
 public class Md5Util {
 
     /**
-     * Default hex digits for converting bytes to hexadecimal representation, commonly used to verify file integrity.
+     * Hex digits for converting bytes to hexadecimal representation.
      */
-    protected static char hexDigits[] = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+    private static final char[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
 
-    protected static MessageDigest messagedigest = null;
+    private static final MessageDigest PROTOTYPE;
 
     static {
         try {
-            messagedigest = MessageDigest.getInstance("MD5");
+            PROTOTYPE = MessageDigest.getInstance("MD5");
         } catch (NoSuchAlgorithmException nsaex) {
-            System.err.println(Md5Util.class.getName() + " initialization failed, MD5 is not supported.");
-            nsaex.printStackTrace();
+            throw new ExceptionInInitializerError(Md5Util.class.getName() + " initialization failed, MD5 is not supported.");
         }
     }
 
@@ -49,41 +49,36 @@ public class Md5Util {
      * @return: String - MD5 hash of the input byte array
      */
     public static String getMD5String(byte[] bytes) {
-        messagedigest.update(bytes);
-        return bufferToHex(messagedigest.digest());
+        return toHex(newDigest().digest(bytes));
     }
 
     /**
-     * @Description: Converts a byte array to a hexadecimal string.
+     * @Description: Converts a byte array to a lowercase hexadecimal string.
      * @Param: bytes - Input byte array
      * @return: String - Hexadecimal representation of the byte array
      */
-    private static String bufferToHex(byte bytes[]) {
-        return bufferToHex(bytes, 0, bytes.length);
-    }
-
-    /**
-     * @Description: Converts a section of a byte array to a hexadecimal string.
-     * @Param: bytes - Input byte array; m - Starting index; n - Number of bytes to process
-     * @return: String - Hexadecimal representation of the specified section of the byte array
-     */
-    private static String bufferToHex(byte bytes[], int m, int n) {
-        StringBuffer stringbuffer = new StringBuffer(2 * n);
-        int k = m + n;
-        for (int l = m; l < k; l++) {
-            appendHexPair(bytes[l], stringbuffer);
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            chars[j++] = HEX_DIGITS[(bytes[i] & 0xf0) >> 4]; // Convert high 4 bits
+            chars[j++] = HEX_DIGITS[bytes[i] & 0xf];         // Convert low 4 bits
         }
-        return stringbuffer.toString();
+        return new String(chars);
     }
 
     /**
-     * @Description: Appends the hexadecimal representation of a byte to a StringBuffer.
-     * @Param: bt - Byte to convert; stringbuffer - StringBuffer to append the hex representation to
+     * @Description: Returns a fresh MD5 digest; cloning the prototype skips the provider lookup of MessageDigest.getInstance.
+     * @return: MessageDigest - Digest owned by the caller
      */
-    private static void appendHexPair(byte bt, StringBuffer stringbuffer) {
-        char c0 = hexDigits[(bt & 0xf0) >> 4]; // Convert high 4 bits
-        char c1 = hexDigits[bt & 0xf];         // Convert low 4 bits
-        stringbuffer.append(c0);
-        stringbuffer.append(c1);
+    private static MessageDigest newDigest() {
+        try {
+            return (MessageDigest) PROTOTYPE.clone();
+        } catch (CloneNotSupportedException e) {
+            try {
+                return MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException nsaex) {
+                throw new IllegalStateException(nsaex);
+            }
+        }
     }
 }
@@ -0,0 +1,103 @@
+package com.maojie.utils;
+
+import com.maojie.config.PasswordConfig;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * @Description: Hashes and verifies user passwords with PBKDF2-HMAC-SHA256. Hashes are stored as
+ * "pbkdf2-sha256$iterations$salt$hash" (Base64 salt and hash), so the cost can be raised later without breaking existing rows.
+ * Legacy unsalted MD5 hashes (32 hex characters) are still accepted and reported as needing a rehash.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    private static final String PREFIX = "pbkdf2-sha256";
+
+    private static final int SALT_BYTES = 16;
+
+    private static final int HASH_BITS = 256;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int iterations;
+
+    /**
+     * @Description: Creates a hasher using the configured iteration count.
+     * @Param: passwordConfig - Password hashing settings
+     */
+    public PasswordHasher(PasswordConfig passwordConfig) {
+        this.iterations = passwordConfig.getIterations();
+    }
+
+    /**
+     * @Description: Hashes a password with a fresh random salt.
+     * @Param: password - Raw password
+     * @return: String - Encoded hash to store in the user table
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(pbkdf2(password, salt, iterations));
+    }
+
+    /**
+     * @Description: Checks a password against a stored hash, in either the PBKDF2 or the legacy MD5 format.
+     * @Param: password - Raw password; stored - Hash stored in the user table
+     * @return: boolean - True if the password matches; false for a malformed stored hash, which can never match
+     */
+    public boolean matches(String password, String stored) {
+        if (stored == null) {
+            return false;
+        }
+        if (isLegacy(stored)) {
+            return MessageDigest.isEqual(Md5Util.getMD5String(password).getBytes(), stored.getBytes());
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            return false;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] expected = decoder.decode(parts[3]);
+            return MessageDigest.isEqual(pbkdf2(password, decoder.decode(parts[2]), Integer.parseInt(parts[1])), expected);
+        } catch (IllegalArgumentException e) {
+            // bad Base64, a non-numeric or non-positive iteration count, or an empty salt
+            return false;
+        }
+    }
+
+    /**
+     * @Description: Tells whether a stored hash should be replaced after a successful login, i.e. it is a legacy MD5 hash or uses a different iteration count.
+     * @Param: stored - Hash stored in the user table
+     * @return: boolean - True if the password should be rehashed
+     */
+    public boolean needsRehash(String stored) {
+        return isLegacy(stored) || !stored.startsWith(PREFIX + "$" + iterations + "$");
+    }
+
+    private static boolean isLegacy(String stored) {
+        return stored.length() == 32 && stored.indexOf('$') < 0;
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.maojie.utils;
+
+import java.io.IOException;
+
+/**
+ * @Description: Thrown by the streaming readers when a single record (a CSV record or an NDJSON line) exceeds the length limit,
+ * so one oversized row cannot make the reader buffer an unbounded amount of input.
+ */
+public class RecordTooLongException extends IOException {
+
+    public RecordTooLongException(int maxLength) {
+        super("Row exceeds " + maxLength + " characters");
+    }
+}
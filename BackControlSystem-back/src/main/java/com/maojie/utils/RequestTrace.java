@@ -0,0 +1,91 @@
+package com.maojie.utils;
+
+/**
+ * @Description: Per-request timing breakdown kept in a ThreadLocal, filled in by the interceptors and the MyBatis SQL plugin while a request runs.
+ * Only touched by the request thread, so the fields need no synchronization.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+
+    private long authNanos; // Token cache, Redis lookup and JWT verification in LoginInterceptor
+
+    private long sqlNanos; // Sum of all mapper statements
+
+    private int sqlCount;
+
+    private String slowestSql;
+
+    private long slowestSqlNanos;
+
+    private RequestTrace() {
+    }
+
+    /**
+     * @Description: Starts a trace for the current thread
+     * @Param: None
+     * @return: RequestTrace - The new trace
+     */
+    public static RequestTrace begin() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * @Description: Returns the trace of the current request
+     * @Param: None
+     * @return: RequestTrace - The trace, or null outside a traced request
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @Description: Detaches the trace from the current thread
+     * @Param: None
+     * @return: void
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public void addAuth(long nanos) {
+        authNanos += nanos;
+    }
+
+    public void addSql(String statement, long nanos) {
+        sqlNanos += nanos;
+        sqlCount++;
+        if (nanos > slowestSqlNanos) {
+            slowestSqlNanos = nanos;
+            slowestSql = statement;
+        }
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getAuthNanos() {
+        return authNanos;
+    }
+
+    public long getSqlNanos() {
+        return sqlNanos;
+    }
+
+    public int getSqlCount() {
+        return sqlCount;
+    }
+
+    public String getSlowestSql() {
+        return slowestSql;
+    }
+
+    public long getSlowestSqlNanos() {
+        return slowestSqlNanos;
+    }
+}
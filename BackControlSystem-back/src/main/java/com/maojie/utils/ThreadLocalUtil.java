@@ -1,31 +1,32 @@
 package com.maojie.utils;
 
-import java.util.HashMap;
-import java.util.Map;
+import com.maojie.pojo.CurrentUser;
 
 /**
- * @Description: Utility class for managing ThreadLocal storage, allowing thread-specific data storage and retrieval.
+ * @Description: Utility class for managing ThreadLocal storage of the logged-in user for the current request.
+ * It only ever holds the CurrentUser set by LoginInterceptor and removed in afterCompletion,
+ * so it stays cheap and leak-free when requests run on virtual threads (virtual-threads.enabled), where every request gets a fresh thread.
+ * Do not cache per-thread resources (digests, buffers) in thread locals: with virtual threads they are never reused.
  */
-@SuppressWarnings("all")
 public class ThreadLocalUtil {
 
-    // ThreadLocal object to store data specific to the current thread
-    private static final ThreadLocal<Object> THREAD_LOCAL = new ThreadLocal<>();
+    // ThreadLocal object to store the logged-in user of the current thread
+    private static final ThreadLocal<CurrentUser> THREAD_LOCAL = new ThreadLocal<>();
 
     /**
-     * @Description: Retrieves the value stored in the current thread's ThreadLocal storage.
-     * @return: T - The value associated with the current thread
+     * @Description: Retrieves the logged-in user stored in the current thread's ThreadLocal storage.
+     * @return: CurrentUser - The user associated with the current thread, or null outside an authenticated request
      */
-    public static <T> T get() {
-        return (T) THREAD_LOCAL.get();
+    public static CurrentUser get() {
+        return THREAD_LOCAL.get();
     }
 
     /**
-     * @Description: Stores a value in the current thread's ThreadLocal storage.
-     * @Param: value - The value to be stored
+     * @Description: Stores the logged-in user in the current thread's ThreadLocal storage.
+     * @Param: value - The user to be stored
      * @return: void
      */
-    public static void set(Object value) {
+    public static void set(CurrentUser value) {
         THREAD_LOCAL.set(value);
     }
 
@@ -0,0 +1,29 @@
+package com.maojie.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * @Description: Helpers for running side effects relative to the current Spring transaction.
+ */
+public class TransactionUtil {
+
+    /**
+     * @Description: Runs an action after the current transaction commits, or immediately when there is no transaction.
+     * Keeps in-memory side effects such as caches and the event queue from seeing rolled-back writes.
+     * @Param: action - Action to run
+     * @return: void
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+-- Initial schema, matching big_event.sql. Existing databases are baselined at this version and start from V2.
+
+CREATE TABLE `user` (
+  `id` int UNSIGNED NOT NULL AUTO_INCREMENT COMMENT 'ID',
+  `username` varchar(20) NOT NULL COMMENT '用户名',
+  `password` varchar(32) NULL DEFAULT NULL COMMENT '密码',
+  `nickname` varchar(10) NULL DEFAULT '' COMMENT '昵称',
+  `email` varchar(128) NULL DEFAULT '' COMMENT '邮箱',
+  `user_pic` varchar(128) NULL DEFAULT '' COMMENT '头像',
+  `create_time` datetime NOT NULL COMMENT '创建时间',
+  `update_time` datetime NOT NULL COMMENT '修改时间',
+  PRIMARY KEY (`id`),
+  UNIQUE INDEX `username` (`username`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = '用户表';
+
+CREATE TABLE `category` (
+  `id` int UNSIGNED NOT NULL AUTO_INCREMENT COMMENT 'ID',
+  `category_name` varchar(32) NOT NULL COMMENT '分类名称',
+  `category_alias` varchar(32) NOT NULL COMMENT '分类别名',
+  `create_user` int UNSIGNED NOT NULL COMMENT '创建人ID',
+  `create_time` datetime NOT NULL COMMENT '创建时间',
+  `update_time` datetime NOT NULL COMMENT '修改时间',
+  PRIMARY KEY (`id`),
+  INDEX `fk_category_user` (`create_user`),
+  CONSTRAINT `fk_category_user` FOREIGN KEY (`create_user`) REFERENCES `user` (`id`) ON DELETE RESTRICT ON UPDATE RESTRICT
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE `article` (
+  `id` int UNSIGNED NOT NULL AUTO_INCREMENT COMMENT 'ID',
+  `title` varchar(30) NOT NULL COMMENT '文章标题',
+  `content` varchar(10000) NOT NULL COMMENT '文章内容',
+  `cover_img` varchar(128) NOT NULL COMMENT '文章封面',
+  `state` varchar(10) NULL DEFAULT '草稿' COMMENT 'only allowed values: ''Published'' or ''Draft''',
+  `category_id` int UNSIGNED NULL DEFAULT NULL COMMENT '文章分类ID',
+  `create_user` int UNSIGNED NOT NULL COMMENT '创建人ID',
+  `create_time` datetime NOT NULL COMMENT '创建时间',
+  `update_time` datetime NOT NULL COMMENT '修改时间',
+  PRIMARY KEY (`id`),
+  INDEX `fk_article_category` (`category_id`),
+  INDEX `fk_article_user` (`create_user`),
+  CONSTRAINT `fk_article_category` FOREIGN KEY (`category_id`) REFERENCES `category` (`id`) ON DELETE RESTRICT ON UPDATE RESTRICT,
+  CONSTRAINT `fk_article_user` FOREIGN KEY (`create_user`) REFERENCES `user` (`id`) ON DELETE RESTRICT ON UPDATE RESTRICT
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,2 @@
+-- Room for PBKDF2 hashes ("pbkdf2-sha256$iterations$salt$hash"); legacy 32-char MD5 values are rehashed on login.
+ALTER TABLE `user` MODIFY `password` varchar(128) NULL DEFAULT NULL COMMENT '密码';
@@ -0,0 +1,11 @@
+-- Indexes for the article access paths in ArticleMapper. Every article query is scoped to create_user, so it leads each index;
+-- update_time and id follow so the list queries can read rows already in "update_time desc, id desc" order and stop at the page limit.
+
+-- list / listAfter / count filtered by category (and optionally state)
+CREATE INDEX `idx_article_user_category_state_time` ON `article` (`create_user`, `category_id`, `state`, `update_time`, `id`);
+
+-- list / listAfter / count filtered by state only, e.g. published articles
+CREATE INDEX `idx_article_user_state_time` ON `article` (`create_user`, `state`, `update_time`, `id`);
+
+-- unfiltered list / listAfter and the per-user export cursor
+CREATE INDEX `idx_article_user_time` ON `article` (`create_user`, `update_time`, `id`);
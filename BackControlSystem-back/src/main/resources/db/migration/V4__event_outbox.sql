@@ -0,0 +1,14 @@
+-- Transactional outbox for domain events. Rows are written in the same transaction as the change they describe and marked
+-- processed once the event handlers have run; processed rows are kept for the retention period as an audit trail.
+CREATE TABLE `event_outbox` (
+  `id` bigint UNSIGNED NOT NULL AUTO_INCREMENT COMMENT 'ID',
+  `event_type` varchar(32) NOT NULL COMMENT '事件类型',
+  `aggregate_id` int UNSIGNED NULL DEFAULT NULL COMMENT '文章/分类/用户ID',
+  `user_id` int UNSIGNED NULL DEFAULT NULL COMMENT '操作人ID',
+  `created_at` datetime(3) NOT NULL COMMENT '创建时间',
+  `processed_at` datetime(3) NULL DEFAULT NULL COMMENT '处理时间',
+  `attempts` int NOT NULL DEFAULT 0 COMMENT '失败次数',
+  PRIMARY KEY (`id`),
+  -- pending rows (processed_at IS NULL) for the sweeper, old processed rows for the purge
+  INDEX `idx_event_outbox_processed` (`processed_at`, `id`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
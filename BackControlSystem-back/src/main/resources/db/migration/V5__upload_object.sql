@@ -0,0 +1,12 @@
+-- Content-addressed index of uploaded files. Identical uploads map to the same stored object; ref_count counts the uploads
+-- that resolved to it.
+CREATE TABLE `upload_object` (
+  `digest` char(64) NOT NULL COMMENT 'SHA-256 (hex)',
+  `object_name` varchar(128) NOT NULL COMMENT '存储对象名',
+  `url` varchar(255) NOT NULL COMMENT '访问地址',
+  `size` bigint NOT NULL COMMENT '字节数',
+  `ref_count` int NOT NULL DEFAULT 1 COMMENT '引用次数',
+  `create_time` datetime NOT NULL COMMENT '创建时间',
+  `update_time` datetime NOT NULL COMMENT '最后上传时间',
+  PRIMARY KEY (`digest`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,3 @@
+-- Widths of the resized image variants that were actually stored for an upload ("160,480"); NULL until the derivative
+-- pipeline has stored at least one, and for files that get none (not an image, too small, or the pipeline was saturated).
+ALTER TABLE `upload_object` ADD COLUMN `variant_widths` varchar(32) NULL DEFAULT NULL COMMENT '已生成的缩略图宽度';
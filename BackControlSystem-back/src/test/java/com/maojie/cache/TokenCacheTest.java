@@ -0,0 +1,32 @@
+package com.maojie.cache;
+
+import com.maojie.config.TokenCacheConfig;
+import com.maojie.pojo.CurrentUser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenCacheTest {
+
+    private final TokenCache cache = new TokenCache(new TokenCacheConfig(), null);
+
+    private final CurrentUser user = new CurrentUser(15, "xumaojie123");
+
+    @Test
+    public void testEntryNeverOutlivesTheToken() throws Exception {
+        cache.put("short", user, Instant.now().plusMillis(100));
+        cache.put("long", user, Instant.now().plusSeconds(3600));
+        assertSame(user, cache.get("short"));
+        Thread.sleep(200);
+        assertNull(cache.get("short"));
+        assertSame(user, cache.get("long")); // still within the configured time to live
+    }
+
+    @Test
+    public void testExpiredTokenIsNotCached() {
+        cache.put("expired", user, Instant.now().minusSeconds(1));
+        assertNull(cache.get("expired"));
+    }
+}
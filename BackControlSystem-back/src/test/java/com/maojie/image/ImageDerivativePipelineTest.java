@@ -0,0 +1,78 @@
+package com.maojie.image;
+
+import com.maojie.config.ImageDerivativeConfig;
+import com.maojie.service.StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageDerivativePipelineTest {
+
+    private static final String DIGEST = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Test
+    public void testVariantUrlsOnlyForStoredWidthsOfUploadedImages() {
+        String url = "http://localhost:8080/files/" + DIGEST + ".PNG";
+        assertEquals(DIGEST, ImageVariants.digest(url));
+        assertEquals(Map.of(
+                "w160", "http://localhost:8080/files/" + DIGEST + "_w160.jpg",
+                "w480", "http://localhost:8080/files/" + DIGEST + "_w480.jpg"), ImageVariants.variantUrls(url, List.of(160, 480)));
+        assertEquals(Map.of("w160", "https://bucket.oss/" + DIGEST + "_w160.jpg"),
+                ImageVariants.variantUrls("https://bucket.oss/" + DIGEST + ".jpg", ImageVariants.parseWidths("160")));
+        assertNull(ImageVariants.variantUrls(url, List.of()));
+        assertNull(ImageVariants.variantUrls(url, null));
+
+        assertNull(ImageVariants.digest("https://example.com/cover.png"));
+        assertNull(ImageVariants.digest("http://localhost:8080/files/x" + DIGEST + ".png"));
+        assertNull(ImageVariants.digest("http://localhost:8080/files/" + DIGEST + ".pdf"));
+        assertNull(ImageVariants.digest(null));
+        assertEquals("160,480", ImageVariants.formatWidths(ImageVariants.parseWidths("160,480")));
+    }
+
+    @Test
+    public void testOnlyStoredVariantsAreReported() throws Exception {
+        Set<String> stored = ConcurrentHashMap.newKeySet();
+        StorageService storage = (StorageService) Proxy.newProxyInstance(StorageService.class.getClassLoader(),
+                new Class<?>[]{StorageService.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("store")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    stored.add((String) args[0]);
+                    return "url";
+                });
+        ImageDerivativePipeline pipeline = new ImageDerivativePipeline(new ImageDerivativeConfig(), storage, new SimpleMeterRegistry());
+        Path source = Files.createTempFile("variant-test-", ".png");
+        ImageIO.write(new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB), "png", source.toFile());
+
+        CompletableFuture<List<Integer>> widths = new CompletableFuture<>();
+        assertTrue(pipeline.submit(DIGEST + ".png", source, widths::complete));
+
+        assertEquals(List.of(160), widths.get(10, TimeUnit.SECONDS)); // 480 is wider than the original
+        assertEquals(Set.of(DIGEST + "_w160.jpg"), stored);
+        pipeline.shutdown();
+        assertFalse(Files.exists(source));
+    }
+
+    @Test
+    public void testResizeKeepsAspectRatioAndDropsAlpha() {
+        BufferedImage image = new BufferedImage(1999, 1001, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage thumb = ImageDerivativePipeline.resize(image, 160);
+        assertEquals(160, thumb.getWidth());
+        assertEquals(80, thumb.getHeight());
+        assertFalse(thumb.getColorModel().hasAlpha());
+        assertEquals(0xFFFFFFFF, thumb.getRGB(0, 0)); // transparent pixels are flattened onto white
+    }
+}
@@ -0,0 +1,42 @@
+package com.maojie.interceptors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maojie.config.RateLimitConfig;
+import com.maojie.ratelimit.LocalRateLimiter;
+import com.maojie.ratelimit.RedisRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitInterceptorTest {
+
+    @Test
+    public void testLoginAttemptsBehindOneAddressAreKeyedByUsername() throws Exception {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setRoutes(List.of(new RateLimitConfig.Route("/user/login", "POST", 0.01, 2, false, "username")));
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(config, new LocalRateLimiter(config), new RedisRateLimiter(null),
+                new ObjectMapper(), new SimpleMeterRegistry());
+
+        assertTrue(login(interceptor, "alice").getStatus() < 400);
+        assertTrue(login(interceptor, "Alice ").getStatus() < 400);
+        MockHttpServletResponse rejected = login(interceptor, "alice");
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+
+        assertTrue(login(interceptor, "bob").getStatus() < 400); // same proxy address, different user
+    }
+
+    private static MockHttpServletResponse login(RateLimitInterceptor interceptor, String username) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/user/login");
+        request.setRemoteAddr("10.0.0.1");
+        request.addParameter("username", username);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        return response;
+    }
+}
@@ -0,0 +1,126 @@
+package com.maojie.mapper;
+
+import com.maojie.pojo.PageCursor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against H2 in MySQL mode and EXPLAINs the SQL MyBatis generates for each mapper query,
+ * failing if a query that should be served by an index falls back to a full table scan.
+ */
+public class MapperQueryPlanTest {
+
+    private static JdbcDataSource dataSource;
+
+    private static Configuration configuration;
+
+    @BeforeAll
+    public static void migrate() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:plan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        configuration = new Configuration(new Environment("plan", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.addMapper(ArticleMapper.class);
+        configuration.addMapper(CategoryMapper.class);
+        configuration.addMapper(UserMapper.class);
+        configuration.addMapper(UploadObjectMapper.class);
+
+        // a few rows so the planner's costs are not degenerate
+        try (Connection c = dataSource.getConnection(); Statement s = c.createStatement()) {
+            for (int u = 1; u <= 3; u++) {
+                s.execute("INSERT INTO user (id, username, create_time, update_time) VALUES (" + u + ", 'user" + u + "', NOW(), NOW())");
+                s.execute("INSERT INTO category (id, category_name, category_alias, create_user, create_time, update_time) VALUES ("
+                        + u + ", 'c" + u + "', 'c" + u + "', " + u + ", NOW(), NOW())");
+                for (int a = 0; a < 20; a++) {
+                    s.execute("INSERT INTO article (title, content, cover_img, state, category_id, create_user, create_time, update_time) VALUES "
+                            + "('t', 'c', 'http://x/y.png', '" + (a % 2 == 0 ? "Published" : "Draft") + "', " + u + ", " + u + ", NOW(), NOW())");
+                }
+            }
+            s.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    public void testArticleListQueriesUseUserScopedIndexes() throws Exception {
+        assertUsesIndex("idx_article_user_category_state_time", plan(ArticleMapper.class, "list", 1, 1, "Published"));
+        assertUsesIndex("idx_article_user_category_state_time", plan(ArticleMapper.class, "list", 1, 1, null));
+        assertUsesIndex("idx_article_user_state_time", plan(ArticleMapper.class, "list", 1, null, "Published"));
+        assertNoFullScan(plan(ArticleMapper.class, "list", 1, null, null));
+
+        PageCursor cursor = new PageCursor(LocalDateTime.now(), 10);
+        assertUsesIndex("idx_article_user_category_state_time", plan(ArticleMapper.class, "listAfter", 1, 1, "Draft", cursor, 10));
+        assertUsesIndex("idx_article_user_state_time", plan(ArticleMapper.class, "listAfter", 1, null, "Draft", null, 10));
+        assertNoFullScan(plan(ArticleMapper.class, "listAfter", 1, null, null, cursor, 10));
+
+        assertNoFullScan(plan(ArticleMapper.class, "count", 1, 1, "Published"));
+        assertNoFullScan(plan(ArticleMapper.class, "count", 1, null, null));
+    }
+
+    @Test
+    public void testLookupsAndBatchStatementsAvoidFullScans() throws Exception {
+        List<Integer> ids = Arrays.asList(1, 2, 3);
+        assertNoFullScan(plan(ArticleMapper.class, "findById", 1));
+        assertNoFullScan(plan(ArticleMapper.class, "findOwnedIds", 1, ids));
+        assertNoFullScan(plan(ArticleMapper.class, "findByIds", ids));
+        assertNoFullScan(plan(ArticleMapper.class, "updateStateByIds", 1, ids, "Draft", LocalDateTime.now()));
+        assertNoFullScan(plan(ArticleMapper.class, "deleteByIds", 1, ids));
+        assertNoFullScan(plan(ArticleMapper.class, "streamByUser", 1));
+        assertNoFullScan(plan(CategoryMapper.class, "list", 1));
+        assertNoFullScan(plan(CategoryMapper.class, "findByid", 1));
+        assertNoFullScan(plan(UserMapper.class, "findByUserName", "user1"));
+        assertNoFullScan(plan(UserMapper.class, "findById", 1));
+        String digest = "0".repeat(64);
+        assertNoFullScan(plan(UploadObjectMapper.class, "findUrl", digest));
+        assertNoFullScan(plan(UploadObjectMapper.class, "addReference", digest, LocalDateTime.now()));
+        assertNoFullScan(plan(UploadObjectMapper.class, "findVariants", List.of(digest)));
+    }
+
+    private static String plan(Class<?> mapper, String methodName, Object... args) throws Exception {
+        Method method = Arrays.stream(mapper.getMethods())
+                .filter(m -> m.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow();
+        MappedStatement ms = configuration.getMappedStatement(mapper.getName() + "." + methodName);
+        Object parameter = new ParamNameResolver(configuration, method).getNamedParams(args);
+        BoundSql boundSql = ms.getBoundSql(parameter);
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+            new DefaultParameterHandler(ms, parameter, boundSql).setParameters(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private static void assertNoFullScan(String plan) {
+        assertFalse(plan.contains("tableScan"), () -> "full table scan:\n" + plan);
+    }
+
+    private static void assertUsesIndex(String index, String plan) {
+        assertNoFullScan(plan);
+        assertTrue(plan.contains(index), () -> "expected " + index + ":\n" + plan);
+    }
+}
@@ -0,0 +1,54 @@
+package com.maojie.ratelimit;
+
+import com.maojie.config.ConcurrencyLimitConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void testFixedLimitShedsAboveLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyLimitConfig.Bulkhead(false, 2, 2, 2, 0, 0, 0));
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(RTT);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(2, limiter.getLimit()); // fixed limits ignore latency
+    }
+
+    @Test
+    public void testAdaptiveLimitFollowsLatency() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyLimitConfig.Bulkhead(true, 20, 4, 200, 0.2, 2.0, 600));
+        saturate(limiter, RTT, 50);
+        int grown = limiter.getLimit();
+        assertTrue(grown > 20, "limit " + grown);
+
+        saturate(limiter, RTT * 10, 50);
+        int shrunk = limiter.getLimit();
+        assertTrue(shrunk < grown, "limit " + shrunk);
+        assertTrue(shrunk >= 4);
+    }
+
+    @Test
+    public void testFailedRequestsAreNotSampled() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new ConcurrencyLimitConfig.Bulkhead(true, 20, 4, 200, 0.2, 2.0, 600));
+        saturate(limiter, -1, 50);
+        assertEquals(20, limiter.getLimit());
+    }
+
+    // keeps the bulkhead full and completes one request at a time with the given latency
+    private static void saturate(ConcurrencyLimiter limiter, long rtt, int samples) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.tryAcquire()) {
+            }
+            limiter.release(rtt);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.maojie.ratelimit;
+
+import com.maojie.config.RateLimitConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalRateLimiterTest {
+
+    private final LocalRateLimiter limiter = new LocalRateLimiter(new RateLimitConfig());
+
+    @Test
+    public void testBurstThenRetryAfterOneInterval() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("k", 10, 3));
+        }
+        long wait = limiter.tryAcquire("k", 10, 3);
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(100), "wait " + wait);
+        assertEquals(0, limiter.tryAcquire("other", 10, 3)); // buckets are per key
+    }
+
+    @Test
+    public void testConcurrentCallersNeverExceedTheBurst() throws Exception {
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire("shared", 0.01, 100) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100, allowed.get());
+    }
+}
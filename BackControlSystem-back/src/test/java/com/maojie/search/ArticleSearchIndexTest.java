@@ -0,0 +1,98 @@
+package com.maojie.search;
+
+import com.maojie.pojo.Article;
+import com.maojie.pojo.ArticleSearchHit;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArticleSearchIndexTest {
+
+    private static Article article(int id, int user, String title, String content) {
+        Article a = new Article();
+        a.setId(id);
+        a.setCreateUser(user);
+        a.setTitle(title);
+        a.setContent(content);
+        a.setState("Published");
+        a.setUpdateTime(LocalDateTime.of(2024, 10, 25, 12, 0).plusMinutes(id));
+        return a;
+    }
+
+    @Test
+    public void testTitleMatchRanksFirstAndResultsAreScopedToUser() {
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(article(1, 15, "Spring", "<p>notes about java and redis</p>"));
+        index.index(article(2, 15, "Redis", "<p>caching with redis and lettuce</p>"));
+        index.index(article(3, 14, "Redis", "<p>someone else's redis article</p>"));
+
+        List<ArticleSearchHit> hits = index.search(15, "Redis", 10);
+
+        assertEquals(List.of(2, 1), hits.stream().map(ArticleSearchHit::getId).toList());
+        assertTrue(hits.get(0).getSnippet().contains("<em>redis</em>"));
+    }
+
+    @Test
+    public void testOtherUsersDoNotAffectRanking() {
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(article(1, 15, "Spring", "<p>notes about java and redis</p>"));
+        index.index(article(2, 15, "Lettuce", "<p>a redis client</p>"));
+        double before = index.search(15, "redis", 10).get(0).getScore();
+
+        for (int id = 10; id < 20; id++) {
+            index.index(article(id, 14, "Redis " + id, "<p>redis redis redis</p>"));
+        }
+
+        assertEquals(before, index.search(15, "redis", 10).get(0).getScore());
+        assertEquals(10, index.search(14, "redis", 20).size());
+    }
+
+    @Test
+    public void testUpdateAndRemoveKeepIndexInSync() {
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(article(1, 15, "Draft", "<p>old words</p>"));
+        Article updated = article(1, 15, "Draft", "<p>new words</p>");
+        updated.setUpdateTime(updated.getUpdateTime().plusHours(1));
+        index.index(updated);
+
+        assertTrue(index.search(15, "old", 10).isEmpty());
+        assertEquals(1, index.search(15, "new", 10).size());
+
+        index.remove(1);
+        assertTrue(index.search(15, "new", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testChineseBigramsAndEscapedSnippet() {
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(article(1, 15, "笔记", "<p>今天学习了全文检索 &lt;script&gt;</p>"));
+
+        List<ArticleSearchHit> hits = index.search(15, "全文检索", 10);
+
+        assertEquals(1, hits.size());
+        assertTrue(hits.get(0).getSnippet().contains("<em>全文</em>"));
+        assertTrue(hits.get(0).getSnippet().contains("&lt;script&gt;"));
+    }
+
+    @Test
+    public void testRebuildReportsArticlesChangedDuringScan() {
+        ArticleSearchIndex index = new ArticleSearchIndex();
+        index.index(article(1, 15, "Redis", "<p>old</p>"));
+        index.beginRebuild();
+
+        ArticleSearchIndex rebuilt = new ArticleSearchIndex();
+        rebuilt.index(article(1, 15, "Redis", "<p>old</p>")); // scanned before the delete below
+        rebuilt.index(article(2, 15, "Redis", "<p>new</p>"));
+        index.remove(1);
+
+        assertEquals(Set.of(1), index.replaceWith(rebuilt));
+        assertEquals(2, index.size());
+        index.remove(1); // what the initializer does after re-reading article 1
+        assertEquals(List.of(2), index.search(15, "redis", 10).stream().map(ArticleSearchHit::getId).toList());
+    }
+}
@@ -0,0 +1,60 @@
+package com.maojie.service.impl;
+
+import com.maojie.config.DirectUploadConfig;
+import com.maojie.config.StorageConfig;
+import com.maojie.pojo.UploadTicket;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalStorageServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private LocalStorageService service() throws Exception {
+        StorageConfig storageConfig = new StorageConfig();
+        storageConfig.setLocalDir(dir.toString());
+        return new LocalStorageService(storageConfig, new DirectUploadConfig());
+    }
+
+    @Test
+    public void testSignedUploadUrlBindsNameContentTypeAndExpiry() throws Exception {
+        LocalStorageService service = service();
+        long expires = Instant.now().plusSeconds(60).getEpochSecond();
+        UploadTicket ticket = service.presignUpload("a.png", "image/png", Instant.ofEpochSecond(expires));
+        String signature = ticket.getUploadUrl().substring(ticket.getUploadUrl().indexOf("&signature=") + "&signature=".length());
+
+        assertEquals("PUT", ticket.getMethod());
+        assertTrue(ticket.getUploadUrl().startsWith("http://localhost:8080/files/a.png?expires=" + expires));
+        assertTrue(service.verifyUpload("a.png", "image/png", expires, signature));
+        assertFalse(service.verifyUpload("b.png", "image/png", expires, signature));
+        assertFalse(service.verifyUpload("a.png", "text/html", expires, signature));
+        assertFalse(service.verifyUpload("a.png", "image/png", expires + 1, signature));
+
+        long past = Instant.now().minusSeconds(1).getEpochSecond();
+        String expired = service.presignUpload("a.png", "image/png", Instant.ofEpochSecond(past)).getUploadUrl();
+        assertFalse(service.verifyUpload("a.png", "image/png", past, expired.substring(expired.indexOf("&signature=") + 11)));
+    }
+
+    @Test
+    public void testStoreNewNeverOverwritesAndEnforcesLimit() throws Exception {
+        LocalStorageService service = service();
+        assertTrue(service.storeNew("a.bin", new ByteArrayInputStream(new byte[]{1, 2, 3}), 3));
+        assertThrows(FileAlreadyExistsException.class, () -> service.storeNew("a.bin", new ByteArrayInputStream(new byte[]{9}), 3));
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(dir.resolve("a.bin")));
+
+        assertFalse(service.storeNew("b.bin", new ByteArrayInputStream(new byte[4]), 3));
+        assertFalse(Files.exists(dir.resolve("b.bin")));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count()); // no temporary files left behind
+        }
+    }
+}
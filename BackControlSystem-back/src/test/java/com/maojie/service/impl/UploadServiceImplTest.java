@@ -0,0 +1,91 @@
+package com.maojie.service.impl;
+
+import com.maojie.config.DirectUploadConfig;
+import com.maojie.config.ImageDerivativeConfig;
+import com.maojie.config.StorageConfig;
+import com.maojie.exception.BadRequestException;
+import com.maojie.image.ImageDerivativePipeline;
+import com.maojie.mapper.UploadObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UploadServiceImplTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<String> recorded = new CopyOnWriteArrayList<>();
+
+    private LocalStorageService storage;
+
+    private UploadServiceImpl service;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        StorageConfig storageConfig = new StorageConfig();
+        storageConfig.setLocalDir(dir.toString());
+        storage = new LocalStorageService(storageConfig, new DirectUploadConfig());
+        UploadObjectMapper mapper = (UploadObjectMapper) Proxy.newProxyInstance(UploadObjectMapper.class.getClassLoader(),
+                new Class<?>[]{UploadObjectMapper.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("add")) {
+                        recorded.add((String) args[0]);
+                    }
+                    return null; // nothing is recorded yet: findUrl misses
+                });
+        ImageDerivativeConfig imageConfig = new ImageDerivativeConfig();
+        imageConfig.setEnabled(false);
+
+        service = new UploadServiceImpl();
+        ReflectionTestUtils.setField(service, "storageService", storage);
+        ReflectionTestUtils.setField(service, "uploadObjectMapper", mapper);
+        ReflectionTestUtils.setField(service, "imageDerivativePipeline",
+                new ImageDerivativePipeline(imageConfig, storage, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "directUploadConfig", new DirectUploadConfig());
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        service.init();
+    }
+
+    @Test
+    public void testAbandonedUploadCanStillBeCompleted() throws Exception {
+        byte[] content = "abandoned before complete".getBytes(StandardCharsets.UTF_8);
+        String digest = sha256(content);
+        String objectName = digest + ".txt";
+        // first attempt: the PUT reached storage but /upload/complete was never called
+        assertTrue(storage.storeNew(objectName, new ByteArrayInputStream(content), 1024));
+
+        // retry: the signed PUT is refused because the object exists (409), and the client completes it anyway
+        assertThrows(FileAlreadyExistsException.class, () -> storage.storeNew(objectName, new ByteArrayInputStream(content), 1024));
+        assertEquals(storage.url(objectName), service.complete(objectName));
+        assertEquals(List.of(digest), recorded);
+    }
+
+    @Test
+    public void testCompletingForeignContentDeletesItSoTheUploadCanBeRetried() throws Exception {
+        String objectName = sha256("expected".getBytes(StandardCharsets.UTF_8)) + ".txt";
+        assertTrue(storage.storeNew(objectName, new ByteArrayInputStream("planted".getBytes(StandardCharsets.UTF_8)), 1024));
+
+        assertThrows(BadRequestException.class, () -> service.complete(objectName));
+        assertFalse(Files.exists(dir.resolve(objectName)));
+        assertTrue(recorded.isEmpty());
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -0,0 +1,52 @@
+package com.maojie.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvUtilTest {
+
+    @Test
+    public void testRoundTripWithQuotesCommasAndLineBreaks() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvUtil.writeRecord(out, "id", "content");
+        CsvUtil.writeRecord(out, "1", "<p>a, \"quoted\"\r\nsecond line</p>");
+        CsvUtil.writeRecord(out, "2", null);
+
+        BufferedReader in = new BufferedReader(new StringReader(out.toString()));
+        assertEquals(List.of("id", "content"), CsvUtil.readRecord(in));
+        assertEquals(List.of("1", "<p>a, \"quoted\"\r\nsecond line</p>"), CsvUtil.readRecord(in));
+        assertEquals(List.of("2", ""), CsvUtil.readRecord(in));
+        assertNull(CsvUtil.readRecord(in));
+    }
+
+    @Test
+    public void testFormulasAreNeutralisedAndReadBackUnchanged() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvUtil.writeRecord(out, "=HYPERLINK(\"http://evil\",\"x\")", "+1", "-2", "@SUM(A1)", "'quoted", "it's", "1");
+
+        assertEquals("\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",'+1,'-2,'@SUM(A1),''quoted,it's,1\r\n", out.toString());
+        BufferedReader in = new BufferedReader(new StringReader(out.toString()));
+        assertEquals(List.of("=HYPERLINK(\"http://evil\",\"x\")", "+1", "-2", "@SUM(A1)", "'quoted", "it's", "1"), CsvUtil.readRecord(in));
+    }
+
+    @Test
+    public void testLfLineEndingsAndMissingTrailingNewline() throws Exception {
+        BufferedReader in = new BufferedReader(new StringReader("a,b\nc,d"));
+        assertEquals(List.of("a", "b"), CsvUtil.readRecord(in));
+        assertEquals(List.of("c", "d"), CsvUtil.readRecord(in));
+        assertNull(CsvUtil.readRecord(in));
+    }
+
+    @Test
+    public void testRecordLongerThanLimitFails() throws Exception {
+        BufferedReader in = new BufferedReader(new StringReader("ab,cd\n\"" + "x".repeat(100)));
+        assertEquals(List.of("ab", "cd"), CsvUtil.readRecord(in, 6));
+        assertThrows(RecordTooLongException.class, () -> CsvUtil.readRecord(in, 6));
+    }
+}
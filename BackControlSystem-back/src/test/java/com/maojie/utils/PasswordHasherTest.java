@@ -0,0 +1,63 @@
+package com.maojie.utils;
+
+import com.maojie.config.PasswordConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHasherTest {
+
+    private static PasswordHasher hasher(int iterations) {
+        PasswordConfig config = new PasswordConfig();
+        config.setIterations(iterations);
+        return new PasswordHasher(config);
+    }
+
+    @Test
+    public void testHashAndMatchRoundTrip() {
+        PasswordHasher hasher = hasher(1000);
+        String stored = hasher.hash("secret123");
+
+        assertTrue(stored.startsWith("pbkdf2-sha256$1000$"));
+        assertNotEquals(stored, hasher.hash("secret123")); // fresh salt every time
+        assertTrue(hasher.matches("secret123", stored));
+        assertFalse(hasher.matches("secret124", stored));
+        assertFalse(hasher.needsRehash(stored));
+    }
+
+    @Test
+    public void testLegacyMd5MatchesAndNeedsRehash() {
+        PasswordHasher hasher = hasher(1000);
+        String legacy = Md5Util.getMD5String("secret123");
+
+        assertEquals(32, legacy.length());
+        assertTrue(hasher.matches("secret123", legacy));
+        assertFalse(hasher.matches("secret124", legacy));
+        assertTrue(hasher.needsRehash(legacy));
+    }
+
+    @Test
+    public void testChangedIterationCountTriggersRehash() {
+        String stored = hasher(1000).hash("secret123");
+        PasswordHasher stronger = hasher(2000);
+
+        assertTrue(stronger.matches("secret123", stored)); // the stored count is used for verification
+        assertTrue(stronger.needsRehash(stored));
+    }
+
+    @Test
+    public void testMalformedStoredHashDoesNotMatch() {
+        PasswordHasher hasher = hasher(1000);
+        String valid = hasher.hash("secret123");
+        String[] parts = valid.split("\\$");
+
+        assertFalse(hasher.matches("secret123", null));
+        assertFalse(hasher.matches("secret123", ""));
+        assertFalse(hasher.matches("secret123", "pbkdf2-sha256$abc$" + parts[2] + "$" + parts[3]));
+        assertFalse(hasher.matches("secret123", "pbkdf2-sha256$0$" + parts[2] + "$" + parts[3]));
+        assertFalse(hasher.matches("secret123", "pbkdf2-sha256$1000$!!!$" + parts[3]));
+        assertFalse(hasher.matches("secret123", "pbkdf2-sha256$1000$$" + parts[3]));
+        assertFalse(hasher.matches("secret123", "pbkdf2-sha256$1000$" + parts[2] + "$%%%"));
+        assertFalse(hasher.matches("secret123", "md5$1000$" + parts[2] + "$" + parts[3]));
+    }
+}
@@ -55,6 +55,15 @@ export const articleListService = (params) => {
   return request.get("/article", { params: params });
 };
 
+/**
+ * @Description: Service to fetch the full details of an article, including its content.
+ * @Param: id - ID of the article to fetch
+ * @return: Promise - API response containing the article details
+ */
+export const articleDetailService = (id) => {
+  return request.get("/article/detail", { params: { id } });
+};
+
 /**
  * @Description: Service to add a new article.
  * @Author: Maojie Xu
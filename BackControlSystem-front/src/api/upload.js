@@ -0,0 +1,47 @@
+import axios from "axios";
+import request from "@/utils/request.js";
+
+/**
+ * @Description: Computes the lower-case hex SHA-256 of a file in the browser.
+ * @Param: file - The File to hash
+ * @return: Promise<string> - Hex digest
+ */
+const sha256Hex = async (file) => {
+  const hash = await crypto.subtle.digest("SHA-256", await file.arrayBuffer());
+  return Array.from(new Uint8Array(hash), (b) => b.toString(16).padStart(2, "0")).join("");
+};
+
+/**
+ * @Description: Uploads a file straight to storage with a signed URL, so the bytes do not pass through the API server.
+ * Content already stored is not sent again, and an object already present in storage is completed rather than re-sent.
+ * Usable as the http-request of el-upload.
+ * @Param: options - el-upload request options; only options.file is used
+ * @return: Promise - API response whose data is the file URL, like POST /upload
+ */
+export const directUploadService = async ({ file }) => {
+  const digest = await sha256Hex(file);
+  const ticket = (
+    await request.post("/upload/sign", {
+      digest,
+      filename: file.name,
+      contentType: file.type || "application/octet-stream",
+      size: file.size,
+    })
+  ).data;
+  if (ticket.exists) {
+    return { code: 0, data: ticket.url };
+  }
+  // plain axios: the signed URL must not carry the Authorization header or the /api base URL
+  try {
+    await axios.put(ticket.uploadUrl, file, { headers: ticket.headers });
+  } catch (e) {
+    // 409: storage refuses to overwrite an object left by an upload that was never completed (closed tab, or the same
+    // file uploading in another tab); completing it is safe because the server re-reads and verifies the stored content
+    if (e.response?.status !== 409) {
+      throw e;
+    }
+  }
+  return request.post("/upload/complete", null, {
+    params: { objectName: ticket.objectName },
+  });
+};
@@ -46,6 +46,8 @@ instance.interceptors.response.use(
     if (err.response.status === 401) {
       ElMessage.error("Please log in first"); // Notify user to log in if unauthorized
       router.push("/login"); // Redirect to the login page
+    } else if (err.response.status < 500 && err.response.data && err.response.data.message) {
+      ElMessage.error(err.response.data.message); // Show the reason for rejected requests, e.g. validation errors
     } else {
       ElMessage.error("Server error"); // Notify of server error for other statuses
     }